@@ -0,0 +1,59 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Next-fire calculation for a cached expression, per engine and expression shape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CronServiceBenchmark {
+
+    @Param({
+        "*/10 * * * * *",        // every few seconds
+        "0 */15 * * * *",        // every quarter hour
+        "0 0 2 * * *",           // daily
+        "0 30 9-17 ? * MON-FRI", // business hours
+        "0 0 0 1 1 *"            // yearly, longest search
+    })
+    private String expression;
+
+    @Param({"SPRING", "BITMASK"})
+    private ApplicationProperties.Scheduler.CronEngine engine;
+
+    private CronService cronService;
+    private ZonedDateTime from;
+
+    @Setup
+    public void setUp() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getScheduler().setCronEngine(engine);
+        cronService = new CronService(properties, new SimpleMeterRegistry());
+        from = ZonedDateTime.of(2024, 3, 9, 23, 17, 41, 0, ZoneId.of("Asia/Kolkata"));
+    }
+
+    @Benchmark
+    public ZonedDateTime getNextExecutionTime() {
+        return cronService.getNextExecutionTime(expression, from);
+    }
+}
@@ -0,0 +1,76 @@
+package com.scheduler.service;
+
+import com.scheduler.dto.JobExecutionResponse;
+import com.scheduler.entity.ExecutionStatus;
+import com.scheduler.entity.JobExecution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building an execution row and mapping it to its API response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionMappingBenchmark {
+
+    private JobService jobService;
+    private String jobId;
+    private ZonedDateTime scheduledTime;
+    private JobExecution completed;
+
+    @Setup
+    public void setUp() {
+        // mapToResponse touches no collaborators
+        jobService = new JobService(null, null, null, null);
+        jobId = UUID.randomUUID().toString();
+        scheduledTime = ZonedDateTime.of(2024, 3, 9, 23, 17, 41, 0, ZoneId.of("Asia/Kolkata"));
+        completed = newExecution();
+        completed.setStatus(ExecutionStatus.SUCCESS);
+        completed.setStartedAt(scheduledTime.plusNanos(3_000_000));
+        completed.setCompletedAt(scheduledTime.plusNanos(148_000_000));
+        completed.setDurationMs(145L);
+        completed.setStatusCode(200);
+    }
+
+    @Benchmark
+    public JobExecution build() {
+        return newExecution();
+    }
+
+    @Benchmark
+    public JobExecutionResponse mapToResponse() {
+        return jobService.mapToResponse(completed);
+    }
+
+    @Benchmark
+    public JobExecutionResponse buildAndMap() {
+        return jobService.mapToResponse(newExecution());
+    }
+
+    private JobExecution newExecution() {
+        return JobExecution.builder()
+            .id(UUID.randomUUID().toString())
+            .jobId(jobId)
+            .status(ExecutionStatus.PENDING)
+            .scheduledTime(scheduledTime)
+            .retryCount(0)
+            .build();
+    }
+}
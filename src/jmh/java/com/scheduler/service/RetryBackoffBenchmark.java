@@ -0,0 +1,69 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retry eligibility and backoff over a batch of failed executions, as a recovery sweep sees them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RetryBackoffBenchmark {
+
+    @Param({"1000", "100000"})
+    private int batchSize;
+
+    private RetryScheduler retryScheduler;
+    private int[] retryCounts;
+    private ZonedDateTime failedAt;
+
+    @Setup
+    public void setUp() {
+        retryScheduler = new RetryScheduler(new ApplicationProperties(), Clock.systemUTC());
+        int maxAttempts = new ApplicationProperties().getJob().getRetry().getMaxAttempts();
+        Random random = new Random(42);
+        retryCounts = new int[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            // Include some executions that are already out of attempts
+            retryCounts[i] = random.nextInt(maxAttempts + 1);
+        }
+        failedAt = ZonedDateTime.of(2024, 3, 9, 23, 17, 41, 0, ZoneId.of("Asia/Kolkata"));
+    }
+
+    @Benchmark
+    public long calculateRetryDelay() {
+        long total = 0;
+        for (int retryCount : retryCounts) {
+            total += retryScheduler.calculateRetryDelay(retryCount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public void nextRetryAt(Blackhole blackhole) {
+        for (int retryCount : retryCounts) {
+            blackhole.consume(retryScheduler.nextRetryAt(retryCount, failedAt));
+        }
+    }
+}
@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Data
 @Component
 @ConfigurationProperties(prefix = "app")
@@ -11,12 +14,78 @@ public class ApplicationProperties {
     
     private Executor executor = new Executor();
     private Job job = new Job();
+    private Scheduler scheduler = new Scheduler();
     
     @Data
     public static class Executor {
+        private Mode mode = Mode.PLATFORM;
         private int corePoolSize = 5;
         private int maxPoolSize = 200;
         private int queueCapacity = 1000;
+        // Concurrent executions allowed in virtual mode
+        private int maxConcurrency = 2000;
+        
+        public enum Mode {
+            PLATFORM,
+            VIRTUAL
+        }
+    }
+    
+    @Data
+    public static class Scheduler {
+        private boolean enabled = true;
+        // Identifies this instance as the owner of the executions it runs; generated when blank
+        private String nodeId;
+        private Mode mode = Mode.WHEEL;
+        // Maximum number of distinct parsed cron expressions kept in memory
+        private int cronCacheSize = 1024;
+        // Maximum number of job definitions kept in memory for retries
+        private int jobCacheSize = 10000;
+        private CronEngine cronEngine = CronEngine.SPRING;
+        private Wheel wheel = new Wheel();
+        private Claim claim = new Claim();
+        private Membership membership = new Membership();
+        
+        public enum Mode {
+            POLLING,
+            WHEEL
+        }
+        
+        public enum CronEngine {
+            SPRING,
+            BITMASK
+        }
+        
+        @Data
+        public static class Wheel {
+            private long tickMs = 10;
+            private int wheelSize = 512;
+            private long horizonSeconds = 30;
+            private long refillIntervalMs = 10000;
+        }
+        
+        @Data
+        public static class Claim {
+            private int batchSize = 500;
+            private int minBatchSize = 10;
+            private long tickBudgetMs = 800;
+            // Executor queue fill ratio above which the claim batch starts shrinking
+            private double queueHighWatermark = 0.8;
+            // How long claimed jobs stay owned by the claiming node; a node that dies mid-claim
+            // holds its jobs back for at most this long
+            private long leaseMs = 30000;
+            // Jobs due this far ahead are claimed early and released at their exact time; 0 claims only due jobs
+            private long lookaheadMs = 5000;
+        }
+        
+        @Data
+        public static class Membership {
+            private long heartbeatIntervalMs = 5000;
+            // A node not heard from for this long is dropped and its shards move to the other nodes
+            private long nodeTimeoutMs = 15000;
+            // Points per node on the consistent-hash ring; more points spread shards more evenly
+            private int virtualNodes = 64;
+        }
     }
     
     @Data
@@ -24,15 +93,29 @@ public class ApplicationProperties {
         private HttpClient httpClient = new HttpClient();
         private Recovery recovery = new Recovery();
         private Retry retry = new Retry();
+        private Bulkhead bulkhead = new Bulkhead();
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+        private Retention retention = new Retention();
         
         @Data
         public static class HttpClient {
+            private Engine engine = Engine.REST_TEMPLATE;
             private int timeoutSeconds = 95;
+            
+            public enum Engine {
+                REST_TEMPLATE,
+                ASYNC
+            }
         }
         
         @Data
         public static class Recovery {
+            // A RUNNING execution whose heartbeat is older than this is failed by the sweep
             private int staleTimeoutSeconds = 100;
+            // A PENDING execution scheduled longer ago than this was never started and is failed by the sweep
+            private int pendingTimeoutSeconds = 300;
+            private long heartbeatIntervalMs = 10000;
+            private int sweepBatchSize = 1000;
         }
         
         @Data
@@ -40,6 +123,48 @@ public class ApplicationProperties {
             private int maxAttempts = 5;
             private long initialDelayMs = 1000;
             private double multiplier = 2.0;
+            // Failed executions due within the horizon are held in memory and retried at their exact time
+            private int horizonSeconds = 30;
+            private long sweepIntervalMs = 10000;
+            private int batchSize = 500;
+            private int queueCapacity = 10000;
+        }
+        
+        @Data
+        public static class Bulkhead {
+            private int defaultMaxConcurrent = 50;
+            // Calls waiting per host once the limit is reached; beyond this they are rejected
+            private int maxQueued = 500;
+            private Map<String, Integer> hostLimits = new HashMap<>();
+        }
+        
+        @Data
+        public static class CircuitBreaker {
+            private boolean enabled = true;
+            // Number of most recent calls per host the failure rate is computed over
+            private int slidingWindowSize = 20;
+            private int minimumCalls = 10;
+            private int failureRateThreshold = 50;
+            private int openDurationSeconds = 30;
+        }
+        
+        @Data
+        public static class Retention {
+            // Maintains the daily partitions of job_executions; no-op unless the table is partitioned
+            private boolean enabled = true;
+            // Daily partitions older than this many days are dropped
+            private int retentionDays = 30;
+            // Daily partitions kept created ahead of today
+            private int partitionAheadDays = 7;
+            private long maintenanceIntervalMs = 3600000;
+            private Archive archive = new Archive();
+            
+            @Data
+            public static class Archive {
+                // Writes each partition to a gzipped CSV file before it is dropped
+                private boolean enabled = false;
+                private String directory = "archive/job_executions";
+            }
         }
     }
 }
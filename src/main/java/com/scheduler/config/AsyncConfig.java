@@ -19,11 +19,18 @@ public class AsyncConfig {
     
     @Bean(name = "jobExecutor")
     public Executor jobExecutor() {
+        if (properties.getExecutor().getMode() == ApplicationProperties.Executor.Mode.VIRTUAL) {
+            return new VirtualThreadJobExecutor(
+                "JobExecutor-",
+                properties.getExecutor().getMaxConcurrency(),
+                properties.getExecutor().getQueueCapacity());
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(properties.getExecutor().getCorePoolSize());
         executor.setMaxPoolSize(properties.getExecutor().getMaxPoolSize());
         executor.setQueueCapacity(properties.getExecutor().getQueueCapacity());
         executor.setThreadNamePrefix("JobExecutor-");
+        executor.setRejectedExecutionHandler(new RejectionCountingPolicy());
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(60);
         executor.initialize();
@@ -0,0 +1,30 @@
+package com.scheduler.config;
+
+import com.scheduler.entity.EntityClock;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+@Configuration
+public class ClockConfig {
+
+    public static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    /**
+     * The scheduler's notion of "now". Everything that decides when jobs fire, retry or go stale
+     * reads this clock, so simulations can replace it with one that advances virtual time.
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.system(ZONE);
+    }
+
+    // Entity lifecycle callbacks are not beans, so they read the clock through EntityClock
+    @Bean
+    public InitializingBean entityClockBinding(Clock clock) {
+        return () -> EntityClock.use(clock);
+    }
+}
@@ -0,0 +1,22 @@
+package com.scheduler.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class HttpClientConfig {
+    @Bean
+    public HttpClient jobHttpClient() {
+        // Used by the async engine: keeps a keep-alive connection pool per host and
+        // multiplexes concurrent requests over one HTTP/2 connection where the target supports it
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(5)) // Same as the RestTemplate
+                // Follows redirects of GET requests like the RestTemplate does; never from HTTPS to HTTP
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+}
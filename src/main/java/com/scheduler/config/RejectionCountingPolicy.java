@@ -0,0 +1,23 @@
+package com.scheduler.config;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The thread pool's default abort policy, counting the tasks it rejects.
+ */
+public class RejectionCountingPolicy extends ThreadPoolExecutor.AbortPolicy {
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        rejected.incrementAndGet();
+        super.rejectedExecution(task, executor);
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,15 @@
+package com.scheduler.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduler's @Scheduled loops. Benchmarks and harnesses set
+ * app.scheduler.enabled=false to drive ticks themselves.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "app.scheduler", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,79 @@
+package com.scheduler.config;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs every task on its own virtual thread (requires a Java 21 runtime).
+ * Concurrency is bounded by a semaphore instead of a thread count: tasks beyond
+ * {@code maxConcurrency} park on the semaphore, which costs a few hundred bytes per task
+ * rather than a platform thread stack. Waiting tasks are capped at {@code queueCapacity},
+ * mirroring the abort policy of the platform pool.
+ */
+public class VirtualThreadJobExecutor implements AsyncTaskExecutor {
+
+    private final VirtualThreadTaskExecutor virtualThreads;
+    private final Semaphore permits;
+    private final int queueCapacity;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public VirtualThreadJobExecutor(String threadNamePrefix, int maxConcurrency, int queueCapacity) {
+        this.virtualThreads = new VirtualThreadTaskExecutor(threadNamePrefix);
+        this.permits = new Semaphore(maxConcurrency);
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (waiting.incrementAndGet() > queueCapacity + permits.availablePermits()) {
+            waiting.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new TaskRejectedException("Virtual thread job executor saturated: " + queueCapacity + " tasks waiting");
+        }
+        virtualThreads.execute(() -> run(task));
+    }
+
+    private void run(Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            waiting.decrementAndGet();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        waiting.decrementAndGet();
+        active.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            active.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public int getQueueSize() {
+        return waiting.get();
+    }
+
+    /**
+     * Tasks that can still be submitted before the executor starts rejecting them.
+     */
+    public int getRemainingCapacity() {
+        return Math.max(0, queueCapacity + permits.availablePermits() - waiting.get());
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+}
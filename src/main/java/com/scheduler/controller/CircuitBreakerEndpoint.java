@@ -0,0 +1,31 @@
+package com.scheduler.controller;
+
+import com.scheduler.service.HostCircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Exposes per-host circuit breaker state at /actuator/circuitbreakers
+ */
+@Component
+@Endpoint(id = "circuitbreakers")
+@RequiredArgsConstructor
+public class CircuitBreakerEndpoint {
+    
+    private final HostCircuitBreakerRegistry circuitBreakers;
+    
+    @ReadOperation
+    public Map<String, HostCircuitBreakerRegistry.Snapshot> circuitBreakers() {
+        return circuitBreakers.snapshot();
+    }
+    
+    @ReadOperation
+    public HostCircuitBreakerRegistry.Snapshot circuitBreaker(@Selector String host) {
+        return circuitBreakers.snapshot().get(host);
+    }
+}
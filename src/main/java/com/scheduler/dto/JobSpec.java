@@ -1,5 +1,7 @@
 package com.scheduler.dto;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 
@@ -13,5 +15,18 @@ public record JobSpec(
     String apiUrl,
     
     @NotBlank(message = "Type cannot be blank")
-    String type
-) {}
+    String type,
+    
+    // Optional override of the concurrent-call limit towards the job's target host
+    @Min(value = 1, message = "Host concurrency limit must be at least 1")
+    Integer hostConcurrencyLimit,
+    
+    // Optional window over which the job's fires are spread, at a fixed offset per job
+    @Min(value = 1, message = "Spread window must be at least 1 second")
+    @Max(value = 3600, message = "Spread window must be at most 3600 seconds")
+    Integer spreadWindowSeconds
+) {
+    public JobSpec(String schedule, String apiUrl, String type) {
+        this(schedule, apiUrl, type, null, null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.scheduler.entity;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Clock used for entity audit timestamps, bound to the application's Clock bean at startup.
+ */
+public final class EntityClock {
+
+    private static volatile Clock clock = Clock.system(ZoneId.of("Asia/Kolkata"));
+
+    private EntityClock() {
+    }
+
+    public static void use(Clock clock) {
+        EntityClock.clock = clock;
+    }
+
+    static ZonedDateTime now() {
+        return ZonedDateTime.now(clock);
+    }
+}
@@ -5,19 +5,30 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
 @Entity
-@Table(name = "jobs")
+// Indexes are created by the db/migration scripts and only listed here for reference
+@Table(name = "jobs", indexes = {
+    @Index(name = "idx_jobs_active_next_execution", columnList = "is_active, next_execution_time"),
+    @Index(name = "idx_jobs_lease_token", columnList = "lease_token"),
+    @Index(name = "idx_jobs_shard_active_next_execution", columnList = "shard_id, is_active, next_execution_time")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Job {
     
+    // UUIDv7 from TimeOrderedIds, stored as BINARY(16)
     @Id
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(length = 16)
     private String id;
     
     @Column(nullable = false)
@@ -33,9 +44,35 @@ public class Job {
     @Column(nullable = false)
     private Boolean isActive;
     
+    // Overrides app.job.bulkhead limits for calls to this job's host
+    @Column(name = "host_concurrency_limit")
+    private Integer hostConcurrencyLimit;
+    
+    // Fires are delayed by a fixed per-job offset within this window, see CronService.spreadOffset
+    @Column(name = "spread_window_seconds")
+    private Integer spreadWindowSeconds;
+    
+    // Assigned from the id on insert, see JobShards
+    @Column(name = "shard_id", nullable = false)
+    private Integer shardId;
+    
     @Column(name = "next_execution_time")
     private ZonedDateTime nextExecutionTime;
     
+    // Claim held by a scheduler node until lease_until, cleared once the job is dispatched.
+    // An expired lease can be taken over by any node.
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+    
+    @Column(name = "lease_until")
+    private ZonedDateTime leaseUntil;
+    
+    // Unique per claim, so the claiming node can load exactly the jobs it leased
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "lease_token", length = 16)
+    private String leaseToken;
+    
     @Column(name = "created_at")
     private ZonedDateTime createdAt;
     
@@ -44,12 +81,15 @@ public class Job {
     
     @PrePersist
     protected void onCreate() {
-        createdAt = ZonedDateTime.now(ZoneId.of("Asia/Kolkata"));
-        updatedAt = ZonedDateTime.now(ZoneId.of("Asia/Kolkata"));
+        if (shardId == null) {
+            shardId = JobShards.of(id);
+        }
+        createdAt = EntityClock.now();
+        updatedAt = EntityClock.now();
     }
     
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = ZonedDateTime.now(ZoneId.of("Asia/Kolkata"));
+        updatedAt = EntityClock.now();
     }
 }
@@ -4,23 +4,39 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
 
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
 @Entity
-@Table(name = "job_executions")
+// Indexes are created by the db/migration scripts and only listed here for reference
+@Table(name = "job_executions", indexes = {
+    @Index(name = "idx_job_executions_next_retry_at", columnList = "next_retry_at"),
+    @Index(name = "idx_job_executions_status_heartbeat", columnList = "status, last_heartbeat_at"),
+    @Index(name = "idx_job_executions_job_created", columnList = "job_id, created_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class JobExecution {
+public class JobExecution implements Persistable<String> {
     
+    // UUIDv7 from TimeOrderedIds, stored as BINARY(16)
     @Id
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(length = 16)
     private String id;
     
-    @Column(name = "job_id", nullable = false)
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "job_id", nullable = false, length = 16)
     private String jobId;
     
     @Enumerated(EnumType.STRING)
@@ -33,6 +49,13 @@ public class JobExecution {
     @Column(name = "started_at")
     private ZonedDateTime startedAt;
     
+    // Node running this execution, and when it last confirmed it is still running
+    @Column(name = "owner_node_id")
+    private String ownerNodeId;
+    
+    @Column(name = "last_heartbeat_at")
+    private ZonedDateTime lastHeartbeatAt;
+    
     @Column(name = "completed_at")
     private ZonedDateTime completedAt;
     
@@ -45,23 +68,53 @@ public class JobExecution {
     @Column(name = "retry_count")
     private Integer retryCount;
     
-    @Column(name = "created_at")
+    // When this FAILED execution should be retried; null once retried or out of attempts
+    @Column(name = "next_retry_at")
+    private ZonedDateTime nextRetryAt;
+    
+    // Set when a retry execution has been created for this one
+    @Column(name = "superseded")
+    @Builder.Default
+    private Boolean superseded = false;
+    
+    // Partitioning column on MySQL, part of the primary key there
+    @Column(name = "created_at", nullable = false)
     private ZonedDateTime createdAt;
     
     @Column(name = "updated_at")
     private ZonedDateTime updatedAt;
     
+    // Ids are assigned up front, so without this flag every save() would merge (SELECT first)
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted;
+    
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+    
+    @PostLoad
+    @PostPersist
+    protected void markPersisted() {
+        persisted = true;
+    }
+    
     @PrePersist
     protected void onCreate() {
-        createdAt = ZonedDateTime.now(ZoneId.of("Asia/Kolkata"));
-        updatedAt = ZonedDateTime.now(ZoneId.of("Asia/Kolkata"));
+        createdAt = EntityClock.now();
+        updatedAt = EntityClock.now();
         if (retryCount == null) {
             retryCount = 0;
         }
+        if (superseded == null) {
+            superseded = false;
+        }
     }
     
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = ZonedDateTime.now(ZoneId.of("Asia/Kolkata"));
+        updatedAt = EntityClock.now();
     }
 }
@@ -0,0 +1,26 @@
+package com.scheduler.entity;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * Maps jobs onto a fixed number of shards, the unit in which jobs are distributed across scheduler
+ * nodes. A job's shard is the CRC-32 of its BINARY(16) id modulo {@link #COUNT}, the same value MySQL
+ * computes as CRC32(id) % 256. The count is stored with every job and must not change.
+ */
+public final class JobShards {
+
+    public static final int COUNT = 256;
+
+    public static final List<Integer> ALL = IntStream.range(0, COUNT).boxed().toList();
+
+    private JobShards() {
+    }
+
+    public static int of(String jobId) {
+        CRC32 crc = new CRC32();
+        crc.update(UuidBinaryJavaType.toBytes(jobId));
+        return (int) (crc.getValue() % COUNT);
+    }
+}
@@ -0,0 +1,44 @@
+package com.scheduler.entity;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Generates UUIDv7 ids (RFC 9562): a 48-bit millisecond timestamp followed by a 12-bit counter and
+ * 62 random bits. Ids generated by one process are strictly increasing, so inserts append to the end
+ * of the primary key index instead of landing on a random page.
+ */
+public final class TimeOrderedIds {
+
+    private static final Pattern CANONICAL =
+        Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Last issued (timestamp << 12 | counter); the counter running over moves on to the next millisecond
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private TimeOrderedIds() {
+    }
+
+    public static String next() {
+        return nextUuid().toString();
+    }
+
+    static UUID nextUuid() {
+        long now = System.currentTimeMillis() << 12;
+        long stamp = LAST.updateAndGet(last -> Math.max(now, last + 1));
+        long mostSigBits = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Whether the string is a UUID in its canonical 36-character form, i.e. can be an entity id.
+     */
+    public static boolean isValid(String id) {
+        return id != null && CANONICAL.matcher(id).matches();
+    }
+}
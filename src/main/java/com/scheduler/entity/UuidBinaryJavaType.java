@@ -0,0 +1,45 @@
+package com.scheduler.entity;
+
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.StringJavaType;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Maps string UUID ids to BINARY(16) columns: less than half the size of the text form in the
+ * primary key and in every secondary index that carries it. A Hibernate type rather than a JPA
+ * AttributeConverter, because converters do not apply to @Id attributes.
+ */
+public class UuidBinaryJavaType extends StringJavaType {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value != null && type == byte[].class) {
+            return (X) toBytes(value);
+        }
+        return super.unwrap(value, type, options);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value instanceof byte[] bytes) {
+            return fromBytes(bytes);
+        }
+        return super.wrap(value, options);
+    }
+
+    public static byte[] toBytes(String id) {
+        UUID uuid = UUID.fromString(id);
+        return ByteBuffer.allocate(16)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+    }
+
+    public static String fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
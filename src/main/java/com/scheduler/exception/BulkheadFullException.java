@@ -0,0 +1,8 @@
+package com.scheduler.exception;
+
+public class BulkheadFullException extends RuntimeException {
+    
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
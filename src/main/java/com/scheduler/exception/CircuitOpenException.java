@@ -0,0 +1,8 @@
+package com.scheduler.exception;
+
+public class CircuitOpenException extends RuntimeException {
+    
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,92 @@
+package com.scheduler.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Partition DDL for the MySQL job_executions table, which is range partitioned by TO_DAYS(created_at)
+ * with a catch-all pmax partition last. Partition names are validated before being put into SQL,
+ * since DDL cannot take them as parameters. On any other database the table is treated as not
+ * partitioned.
+ */
+@Repository
+public class ExecutionPartitionRepository {
+
+    public static final String CATCH_ALL = "pmax";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("p[0-9a-z_]+");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private volatile Boolean mysql;
+
+    public ExecutionPartitionRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        // Makes MySQL Connector/J stream result rows instead of reading a whole partition into memory
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Partition names in range order, or an empty list if the table is not partitioned
+     * or the database is not MySQL.
+     */
+    public List<String> findPartitionNames() {
+        if (!isMySql()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(
+            "SELECT partition_name FROM information_schema.partitions " +
+            "WHERE table_schema = DATABASE() AND table_name = 'job_executions' AND partition_name IS NOT NULL " +
+            "ORDER BY partition_ordinal_position", String.class);
+    }
+
+    /**
+     * Splits the given daily partitions off the (empty) catch-all partition, each holding the rows
+     * created on its day.
+     * @param partitions partition name by day, in ascending order and all later than existing partitions
+     */
+    public void addDailyPartitions(Map<String, LocalDate> partitions) {
+        String definitions = partitions.entrySet().stream()
+            .map(partition -> String.format("PARTITION %s VALUES LESS THAN (TO_DAYS('%s'))",
+                checked(partition.getKey()), partition.getValue().plusDays(1)))
+            .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("ALTER TABLE job_executions REORGANIZE PARTITION " + CATCH_ALL + " INTO (" +
+            definitions + ", PARTITION " + CATCH_ALL + " VALUES LESS THAN MAXVALUE)");
+    }
+
+    public void dropPartition(String partition) {
+        jdbcTemplate.execute("ALTER TABLE job_executions DROP PARTITION " + checked(partition));
+    }
+
+    /**
+     * Streams every row of one partition to the handler, with all columns.
+     */
+    public void streamPartition(String partition, RowCallbackHandler handler) {
+        streamingJdbcTemplate.query("SELECT * FROM job_executions PARTITION (" + checked(partition) + ")", handler);
+    }
+
+    private boolean isMySql() {
+        if (mysql == null) {
+            mysql = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "MySQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return mysql;
+    }
+
+    private static String checked(String partition) {
+        if (!PARTITION_NAME.matcher(partition).matches()) {
+            throw new IllegalArgumentException("Invalid partition name: " + partition);
+        }
+        return partition;
+    }
+}
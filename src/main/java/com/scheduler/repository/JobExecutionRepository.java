@@ -5,20 +5,25 @@ import com.scheduler.entity.ExecutionStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface JobExecutionRepository extends JpaRepository<JobExecution, String> {
 
-    List<JobExecution> findByStatusAndScheduledTimeBefore(ExecutionStatus status, ZonedDateTime before);
-    
-    List<JobExecution> findByStatusAndRetryCountLessThanOrderByCreatedAtAsc(ExecutionStatus status, Integer maxRetryCount);
+    /**
+     * Failed executions whose retry is due by the given time, earliest first. Served by the next_retry_at index.
+     */
+    @Query("SELECT je FROM JobExecution je WHERE je.nextRetryAt <= :until AND je.superseded = false ORDER BY je.nextRetryAt ASC")
+    List<JobExecution> findDueRetries(@Param("until") ZonedDateTime until, Pageable pageable);
 
     @Query("SELECT je FROM JobExecution je WHERE je.jobId = :jobId AND je.status = 'FAILED' AND je.retryCount < :maxRetries ORDER BY je.createdAt ASC")
     List<JobExecution> findFailedExecutionsForRetry(@Param("jobId") String jobId, @Param("maxRetries") Integer maxRetries);
@@ -26,4 +31,110 @@ public interface JobExecutionRepository extends JpaRepository<JobExecution, Stri
     Page<JobExecution> findByJobId(String jobId, Pageable pageable);
 
     List<JobExecution> findByStatus(ExecutionStatus status);
+
+    /**
+     * Moves a PENDING execution to RUNNING in its own short transaction.
+     * @return 0 if the execution was already picked up (or is no longer PENDING)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobExecution je SET je.status = com.scheduler.entity.ExecutionStatus.RUNNING, je.startedAt = :startedAt, " +
+           "je.ownerNodeId = :nodeId, je.lastHeartbeatAt = :startedAt, je.updatedAt = :startedAt " +
+           "WHERE je.id = :id AND je.status = com.scheduler.entity.ExecutionStatus.PENDING")
+    int markRunning(@Param("id") String id, @Param("startedAt") ZonedDateTime startedAt, @Param("nodeId") String nodeId);
+
+    /**
+     * Refreshes the heartbeat of this node's running executions in one statement.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobExecution je SET je.lastHeartbeatAt = :now " +
+           "WHERE je.id IN :ids AND je.status = com.scheduler.entity.ExecutionStatus.RUNNING")
+    int heartbeat(@Param("ids") Collection<String> ids, @Param("now") ZonedDateTime now);
+
+    /**
+     * Fails at most {@code limit} RUNNING executions whose heartbeat is older than the threshold,
+     * setting their next retry time from the backoff settings, without loading them.
+     * Executions started before heartbeats were recorded have none, and are judged by their start time.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE job_executions SET status = 'FAILED', completed_at = :now, updated_at = :now, " +
+                   "next_retry_at = CASE WHEN retry_count < :maxAttempts " +
+                   "THEN TIMESTAMPADD(MICROSECOND, CAST(:initialDelayMs * POWER(:multiplier, retry_count) * 1000 AS SIGNED), CAST(:now AS DATETIME(6))) " +
+                   "ELSE NULL END " +
+                   "WHERE status = 'RUNNING' AND (last_heartbeat_at < :threshold " +
+                   "OR (last_heartbeat_at IS NULL AND started_at < :threshold)) LIMIT :limit",
+           nativeQuery = true)
+    int failStaleExecutions(@Param("threshold") ZonedDateTime threshold,
+                            @Param("now") ZonedDateTime now,
+                            @Param("maxAttempts") int maxAttempts,
+                            @Param("initialDelayMs") long initialDelayMs,
+                            @Param("multiplier") double multiplier,
+                            @Param("limit") int limit);
+
+    /**
+     * Fails at most {@code limit} PENDING executions scheduled before the threshold, setting their next
+     * retry time from the backoff settings, without loading them. These were claimed by a node that died
+     * before handing them to its executor, or parked by it, and would otherwise never run.
+     * Served by the status prefix of the status/heartbeat index.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE job_executions SET status = 'FAILED', completed_at = :now, updated_at = :now, duration_ms = 0, " +
+                   "next_retry_at = CASE WHEN retry_count < :maxAttempts " +
+                   "THEN TIMESTAMPADD(MICROSECOND, CAST(:initialDelayMs * POWER(:multiplier, retry_count) * 1000 AS SIGNED), CAST(:now AS DATETIME(6))) " +
+                   "ELSE NULL END " +
+                   "WHERE status = 'PENDING' AND scheduled_time < :threshold LIMIT :limit",
+           nativeQuery = true)
+    int failOrphanedPendingExecutions(@Param("threshold") ZonedDateTime threshold,
+                                      @Param("now") ZonedDateTime now,
+                                      @Param("maxAttempts") int maxAttempts,
+                                      @Param("initialDelayMs") long initialDelayMs,
+                                      @Param("multiplier") double multiplier,
+                                      @Param("limit") int limit);
+
+    /**
+     * Records the result of a RUNNING execution.
+     * @return 0 if the execution is no longer RUNNING, e.g. because the stale sweep already failed it
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobExecution je SET je.status = :status, je.completedAt = :completedAt, je.durationMs = :durationMs, " +
+           "je.statusCode = :statusCode, je.nextRetryAt = :nextRetryAt, je.updatedAt = :completedAt " +
+           "WHERE je.id = :id AND je.status = com.scheduler.entity.ExecutionStatus.RUNNING")
+    int recordResult(@Param("id") String id,
+                     @Param("status") ExecutionStatus status,
+                     @Param("completedAt") ZonedDateTime completedAt,
+                     @Param("durationMs") Long durationMs,
+                     @Param("statusCode") Integer statusCode,
+                     @Param("nextRetryAt") ZonedDateTime nextRetryAt);
+
+    /**
+     * Fails a PENDING execution that was never started, with the given next retry time.
+     * @return 0 if the execution is no longer PENDING
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobExecution je SET je.status = com.scheduler.entity.ExecutionStatus.FAILED, je.completedAt = :completedAt, " +
+           "je.durationMs = 0, je.nextRetryAt = :nextRetryAt, je.updatedAt = :completedAt " +
+           "WHERE je.id = :id AND je.status = com.scheduler.entity.ExecutionStatus.PENDING")
+    int failPending(@Param("id") String id,
+                    @Param("completedAt") ZonedDateTime completedAt,
+                    @Param("nextRetryAt") ZonedDateTime nextRetryAt);
+
+    /**
+     * Marks a failed execution as retried, so exactly one caller creates its retry.
+     * @return 0 if the execution was already superseded or has no retry pending
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobExecution je SET je.superseded = true, je.nextRetryAt = null " +
+           "WHERE je.id = :id AND je.superseded = false AND je.nextRetryAt IS NOT NULL")
+    int markSuperseded(@Param("id") String id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobExecution je SET je.nextRetryAt = :nextRetryAt WHERE je.id = :id AND je.superseded = false")
+    int deferRetry(@Param("id") String id, @Param("nextRetryAt") ZonedDateTime nextRetryAt);
 }
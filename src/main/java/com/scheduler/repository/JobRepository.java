@@ -2,26 +2,72 @@ package com.scheduler.repository;
 
 import com.scheduler.entity.Job;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.persistence.LockModeType;
-import jakarta.persistence.QueryHint;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, String> {
     
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @QueryHints({
-        @QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2")
-    })
-    @Query("SELECT j FROM Job j WHERE j.isActive = true AND j.nextExecutionTime <= :now")
-    List<Job> findJobsForExecution(@Param("now") ZonedDateTime now);
+    /**
+     * Leases at most {@code limit} jobs of the given shards due by {@code until} that are not leased or
+     * whose lease has expired, oldest first, in a single statement of its own transaction, so row locks
+     * last only as long as the UPDATE.
+     * The token is the BINARY(16) form of a UUID; the leased jobs are loaded with {@link #findByLeaseToken}.
+     * @return the number of jobs leased
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE jobs SET lease_owner = :owner, lease_token = :token, lease_until = :leaseUntil " +
+                   "WHERE shard_id IN (:shards) AND is_active = true AND next_execution_time <= :until " +
+                   "AND (lease_until IS NULL OR lease_until < :now) " +
+                   "ORDER BY next_execution_time ASC LIMIT :limit",
+           nativeQuery = true)
+    int leaseDueJobs(@Param("shards") Collection<Integer> shards,
+                     @Param("owner") String owner,
+                     @Param("token") byte[] token,
+                     @Param("leaseUntil") ZonedDateTime leaseUntil,
+                     @Param("now") ZonedDateTime now,
+                     @Param("until") ZonedDateTime until,
+                     @Param("limit") int limit);
+
+    /**
+     * Leases the given jobs if they are still in the given shards, active, due by {@code until} and not
+     * leased by another node.
+     * @return the number of jobs leased
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Job j SET j.leaseOwner = :owner, j.leaseToken = :token, j.leaseUntil = :leaseUntil " +
+           "WHERE j.id IN :ids AND j.shardId IN :shards AND j.isActive = true AND j.nextExecutionTime <= :until " +
+           "AND (j.leaseUntil IS NULL OR j.leaseUntil < :now)")
+    int leaseJobs(@Param("ids") Collection<String> ids,
+                  @Param("shards") Collection<Integer> shards,
+                  @Param("owner") String owner,
+                  @Param("token") String token,
+                  @Param("leaseUntil") ZonedDateTime leaseUntil,
+                  @Param("now") ZonedDateTime now,
+                  @Param("until") ZonedDateTime until);
+
+    /**
+     * Jobs still held under the given lease; a job whose lease expired and was taken over is not returned.
+     */
+    @Query("SELECT j FROM Job j WHERE j.leaseToken = :token")
+    List<Job> findByLeaseToken(@Param("token") String token);
+
+    @Query("SELECT j FROM Job j WHERE j.shardId IN :shards AND j.isActive = true AND j.nextExecutionTime <= :until")
+    List<Job> findUpcomingJobs(@Param("shards") Collection<Integer> shards, @Param("until") ZonedDateTime until);
+
+    /**
+     * Earliest next execution time of any active job, or null if there are none.
+     */
+    @Query("SELECT MIN(j.nextExecutionTime) FROM Job j WHERE j.isActive = true")
+    ZonedDateTime findEarliestNextExecutionTime();
 
 }
@@ -0,0 +1,51 @@
+package com.scheduler.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Membership table of the scheduler nodes, one row per node with the time of its last heartbeat.
+ */
+@Repository
+public class SchedulerNodeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchedulerNodeRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Registers the node, or refreshes its heartbeat if it is already registered.
+     */
+    public void heartbeat(String nodeId, ZonedDateTime now) {
+        Timestamp timestamp = Timestamp.from(now.toInstant());
+        jdbcTemplate.update(
+            "INSERT INTO scheduler_nodes (node_id, started_at, last_heartbeat_at) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE last_heartbeat_at = VALUES(last_heartbeat_at)",
+            nodeId, timestamp, timestamp);
+    }
+
+    /**
+     * Ids of the nodes that sent a heartbeat since the given time, in id order.
+     */
+    public List<String> findLiveNodeIds(ZonedDateTime since) {
+        return jdbcTemplate.queryForList(
+            "SELECT node_id FROM scheduler_nodes WHERE last_heartbeat_at >= ? ORDER BY node_id",
+            String.class, Timestamp.from(since.toInstant()));
+    }
+
+    public int deleteNodesSilentSince(ZonedDateTime before) {
+        return jdbcTemplate.update("DELETE FROM scheduler_nodes WHERE last_heartbeat_at < ?",
+            Timestamp.from(before.toInstant()));
+    }
+
+    public void delete(String nodeId) {
+        jdbcTemplate.update("DELETE FROM scheduler_nodes WHERE node_id = ?", nodeId);
+    }
+}
@@ -1,5 +1,10 @@
 package com.scheduler.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scheduler.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -9,14 +14,30 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class ApiClientService {
 
     private final RestTemplate restTemplate;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final ApplicationProperties properties;
+    private final MeterRegistry meterRegistry;
 
 
-    public ApiClientService(RestTemplate restTemplate) {
+    public ApiClientService(RestTemplate restTemplate, HttpClient httpClient, ObjectMapper objectMapper,
+                            ApplicationProperties properties, MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -54,4 +75,71 @@ public class ApiClientService {
                 throw new RuntimeException("API call failed due to connection/network error: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Executes the call with the configured engine and returns a future of the response status code.
+     * With the async engine the request is sent by the non-blocking HttpClient: connections are pooled
+     * per host, HTTP/2 is negotiated where supported, and the response body is discarded unread.
+     * With the rest-template engine the call runs on the calling thread and the future is already complete.
+     * Connection/network errors complete the future exceptionally.
+     * Every call is timed per target host and response status.
+     */
+    public CompletableFuture<Integer> executeApiCallAsync(
+            String apiUrl,
+            HttpMethod method,
+            String executionId,
+            Object requestBody) {
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return send(apiUrl, method, executionId, requestBody)
+            .whenComplete((statusCode, error) -> sample.stop(Timer.builder("scheduler.http.client.requests")
+                .description("Webhook call latency per target host")
+                .tag("host", HostBulkheadRegistry.hostOf(apiUrl))
+                .tag("status", error == null ? String.valueOf(statusCode) : "IO_ERROR")
+                .publishPercentileHistogram()
+                .register(meterRegistry)));
+    }
+
+    private CompletableFuture<Integer> send(String apiUrl, HttpMethod method, String executionId, Object requestBody) {
+        if (properties.getJob().getHttpClient().getEngine() != ApplicationProperties.Job.HttpClient.Engine.ASYNC) {
+            try {
+                return CompletableFuture.completedFuture(executeApiCall(apiUrl, method, executionId, requestBody));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        HttpRequest request;
+        try {
+            request = buildRequest(apiUrl, method, executionId, requestBody);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(
+                new RuntimeException("API call failed due to invalid request: " + e.getMessage(), e));
+        }
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .handle((response, error) -> {
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    throw new RuntimeException("API call failed due to connection/network error: " + cause.getMessage(), cause);
+                }
+                return response.statusCode();
+            });
+    }
+
+    private HttpRequest buildRequest(String apiUrl, HttpMethod method, String executionId, Object requestBody)
+            throws JsonProcessingException {
+        HttpRequest.BodyPublisher body = requestBody == null
+            ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(requestBody));
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(apiUrl))
+            .timeout(Duration.ofSeconds(properties.getJob().getHttpClient().getTimeoutSeconds()))
+            .header("X-Idempotency-Key", executionId)
+            .method(method.name(), body);
+        if (method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.PATCH) {
+            builder.header("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+        }
+        return builder.build();
+    }
+}
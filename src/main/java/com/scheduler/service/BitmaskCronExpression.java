@@ -0,0 +1,378 @@
+package com.scheduler.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A 6-field cron expression (second minute hour dayOfMonth month dayOfWeek) compiled to primitive
+ * bit masks. The next fire time is found with bit scans over local date-time fields held in ints
+ * and converted to an epoch second once at the end. For fixed-offset zones the search allocates
+ * nothing; other zones allocate a few objects per call to look up their offsets and transitions.
+ * Semantics follow Spring's CronExpression, including day-of-month AND day-of-week matching and
+ * its handling of DST gaps (skipped) and overlaps (earlier offset first). For zones that shift by
+ * half an hour, every local time that exists fires once, where Spring works in whole hours.
+ * Expressions using L, W, # or macros are not supported; {@link #compile} returns null for them
+ * (and for anything invalid) so callers can fall back to Spring.
+ */
+public final class BitmaskCronExpression {
+
+    // Gregorian calendar repeats every 400 years, so any satisfiable expression fires within that
+    private static final int MAX_YEARS = 400;
+
+    private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+    private static final String[] DAYS = {"MON", "TUE", "WED", "THU", "FRI", "SAT", "SUN"};
+
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    private final long daysOfMonth;
+    private final int months;
+    // ISO day of week bits, Monday = 1 ... Sunday = 7
+    private final int daysOfWeek;
+
+    private BitmaskCronExpression(long seconds, long minutes, long hours, long daysOfMonth, int months, int daysOfWeek) {
+        this.seconds = seconds;
+        this.minutes = minutes;
+        this.hours = hours;
+        this.daysOfMonth = daysOfMonth;
+        this.months = months;
+        this.daysOfWeek = daysOfWeek;
+    }
+
+    /**
+     * @return the compiled expression, or null if it is invalid or uses features this engine does not support
+     */
+    public static BitmaskCronExpression compile(String expression) {
+        String[] fields = expression.trim().toUpperCase(Locale.ROOT).split("\\s+");
+        if (fields.length != 6) {
+            return null;
+        }
+        long seconds = parseField(fields[0], 0, 59, null, false);
+        long minutes = parseField(fields[1], 0, 59, null, false);
+        long hours = parseField(fields[2], 0, 23, null, false);
+        long daysOfMonth = parseField(fields[3], 1, 31, null, true);
+        long months = parseField(fields[4], 1, 12, MONTHS, false);
+        long daysOfWeek = parseField(fields[5], 0, 7, DAYS, true);
+        if (seconds == 0 || minutes == 0 || hours == 0 || daysOfMonth == 0 || months == 0 || daysOfWeek == 0) {
+            return null;
+        }
+        if (!anyDayExists(daysOfMonth, months)) {
+            // e.g. 30 February; left to Spring, which reports it
+            return null;
+        }
+        // 0 and 7 are both Sunday
+        if ((daysOfWeek & 1L) != 0) {
+            daysOfWeek = (daysOfWeek & ~1L) | (1L << 7);
+        }
+        return new BitmaskCronExpression(seconds, minutes, hours, daysOfMonth, (int) months, (int) daysOfWeek);
+    }
+
+    /**
+     * @return the first fire time strictly after from, in from's zone, or null if there is none
+     */
+    public ZonedDateTime next(ZonedDateTime from) {
+        long next = nextEpochSecond(from.toEpochSecond(), from.getZone().getRules());
+        return next == Long.MIN_VALUE ? null : ZonedDateTime.ofInstant(Instant.ofEpochSecond(next), from.getZone());
+    }
+
+    /**
+     * @return the first fire time strictly after fromEpochSecond, or Long.MIN_VALUE if there is none
+     */
+    public long nextEpochSecond(long fromEpochSecond, ZoneRules rules) {
+        if (rules.isFixedOffset()) {
+            int offset = rules.getOffset(Instant.EPOCH).getTotalSeconds();
+            long match = nextLocal(fromEpochSecond + offset + 1);
+            return match == Long.MIN_VALUE ? Long.MIN_VALUE : match - offset;
+        }
+        Instant from = Instant.ofEpochSecond(fromEpochSecond);
+        int fromOffset = rules.getOffset(from).getTotalSeconds();
+        long local = fromEpochSecond + fromOffset + 1;
+
+        // When the clock is about to fall back, the local times up to the transition come first,
+        // and then the repeated hour comes around again at the later offset
+        ZoneOffsetTransition transition = rules.nextTransition(from);
+        if (transition != null && transition.isOverlap()) {
+            long transitionLocal = transition.getDateTimeBefore().toEpochSecond(ZoneOffset.UTC);
+            long match = nextLocal(local);
+            if (match != Long.MIN_VALUE && match < transitionLocal) {
+                return match - fromOffset;
+            }
+            long repeatedFrom = transition.getDateTimeAfter().toEpochSecond(ZoneOffset.UTC);
+            match = nextLocal(repeatedFrom);
+            if (match != Long.MIN_VALUE && match < transitionLocal) {
+                return match - transition.getOffsetAfter().getTotalSeconds();
+            }
+            local = Math.max(local, transitionLocal);
+        }
+
+        while (true) {
+            long match = nextLocal(local);
+            if (match == Long.MIN_VALUE) {
+                return Long.MIN_VALUE;
+            }
+            long epochSecond = toEpochSecond(match, rules, fromEpochSecond);
+            if (epochSecond != Long.MIN_VALUE) {
+                return epochSecond;
+            }
+            local = match + 1;
+        }
+    }
+
+    /**
+     * First matching local date-time (as seconds since the local epoch) at or after the given one.
+     */
+    private long nextLocal(long localSecond) {
+        long epochDay = Math.floorDiv(localSecond, 86400);
+        int secondOfDay = (int) Math.floorMod(localSecond, 86400);
+        int hour = secondOfDay / 3600;
+        int minute = secondOfDay / 60 % 60;
+        int second = secondOfDay % 60;
+
+        long civil = civilFromDays(epochDay);
+        int year = (int) (civil >> 9);
+        int month = (int) (civil >> 5) & 0xF;
+        int day = (int) civil & 0x1F;
+        int maxYear = year + MAX_YEARS;
+
+        while (year <= maxYear) {
+            if ((months & (1 << month)) == 0) {
+                int nextMonth = nextBit(months, month + 1, 12);
+                if (nextMonth < 0) {
+                    year++;
+                    month = nextBit(months, 1, 12);
+                } else {
+                    month = nextMonth;
+                }
+                day = 1;
+                hour = 0;
+                minute = 0;
+                second = 0;
+                continue;
+            }
+            if (day > lengthOfMonth(year, month)) {
+                day = 1;
+                if (++month > 12) {
+                    month = 1;
+                    year++;
+                }
+                hour = 0;
+                minute = 0;
+                second = 0;
+                continue;
+            }
+            if (!dayMatches(year, month, day)) {
+                day++;
+                hour = 0;
+                minute = 0;
+                second = 0;
+                continue;
+            }
+            int nextHour = nextBit(hours, hour, 23);
+            if (nextHour < 0) {
+                day++;
+                hour = 0;
+                minute = 0;
+                second = 0;
+                continue;
+            }
+            if (nextHour != hour) {
+                hour = nextHour;
+                minute = 0;
+                second = 0;
+            }
+            int nextMinute = nextBit(minutes, minute, 59);
+            if (nextMinute < 0) {
+                hour++;
+                minute = 0;
+                second = 0;
+                if (hour > 23) {
+                    day++;
+                    hour = 0;
+                }
+                continue;
+            }
+            if (nextMinute != minute) {
+                minute = nextMinute;
+                second = 0;
+            }
+            int nextSecond = nextBit(seconds, second, 59);
+            if (nextSecond < 0) {
+                minute++;
+                second = 0;
+                if (minute > 59) {
+                    minute = 0;
+                    hour++;
+                    if (hour > 23) {
+                        day++;
+                        hour = 0;
+                    }
+                }
+                continue;
+            }
+            return daysFromCivil(year, month, day) * 86400 + hour * 3600L + minute * 60L + nextSecond;
+        }
+        return Long.MIN_VALUE;
+    }
+
+    private static boolean anyDayExists(long daysOfMonth, long months) {
+        for (int month = 1; month <= 12; month++) {
+            if ((months & (1L << month)) != 0 && Long.numberOfTrailingZeros(daysOfMonth) <= lengthOfMonth(2000, month)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean dayMatches(int year, int month, int day) {
+        if ((daysOfMonth & (1L << day)) == 0) {
+            return false;
+        }
+        int dayOfWeek = (int) Math.floorMod(daysFromCivil(year, month, day) + 3, 7) + 1;
+        return (daysOfWeek & (1 << dayOfWeek)) != 0;
+    }
+
+    /**
+     * Resolves a matching local time to an epoch second after fromEpochSecond.
+     * Times inside a DST gap do not exist and are skipped; in an overlap the earlier offset is
+     * tried first, then the later one.
+     * @return Long.MIN_VALUE if neither resolution is after fromEpochSecond
+     */
+    private static long toEpochSecond(long localSecond, ZoneRules rules, long fromEpochSecond) {
+        LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+        List<ZoneOffset> offsets = rules.getValidOffsets(localDateTime);
+        // Local times skipped by a DST gap never fire
+        for (ZoneOffset offset : offsets) {
+            long epochSecond = localSecond - offset.getTotalSeconds();
+            if (epochSecond > fromEpochSecond) {
+                return epochSecond;
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+
+    /**
+     * Parses one field into a mask with bit n set for every allowed value n.
+     * @return 0 if the field is invalid or unsupported
+     */
+    private static long parseField(String field, int min, int max, String[] names, boolean dayField) {
+        long mask = 0;
+        for (String part : field.split(",")) {
+            String range = part;
+            int step = 1;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                range = part.substring(0, slash);
+                step = parseNumber(part.substring(slash + 1), null);
+                if (step < 1) {
+                    return 0;
+                }
+            }
+            int start;
+            int end;
+            if (range.equals("*") || (dayField && range.equals("?"))) {
+                // Like Spring, a day-of-week wildcard covers 1-7 (Monday to Sunday), not 0-7
+                start = max == 7 ? 1 : min;
+                end = max;
+            } else {
+                int dash = range.indexOf('-');
+                if (dash > 0) {
+                    start = parseNumber(range.substring(0, dash), names);
+                    end = parseNumber(range.substring(dash + 1), names);
+                    if (max == 7 && start == 7) {
+                        // Spring reads Sunday at the start of a day-of-week range as 0
+                        start = 0;
+                    }
+                } else {
+                    start = parseNumber(range, names);
+                    end = slash >= 0 ? max : start;
+                }
+            }
+            if (start < min || end > max || start > end) {
+                return 0;
+            }
+            for (int value = start; value <= end; value += step) {
+                mask |= 1L << value;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return the value, or -1 if it is not a number or a known name
+     */
+    private static int parseNumber(String value, String[] names) {
+        if (value.isEmpty()) {
+            return -1;
+        }
+        if (names != null) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(value)) {
+                    return i + 1;
+                }
+            }
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return -1;
+            }
+        }
+        return value.length() > 2 ? -1 : Integer.parseInt(value);
+    }
+
+    /**
+     * @return the lowest set bit in [from, max], or -1 if there is none
+     */
+    private static int nextBit(long mask, int from, int max) {
+        if (from > max) {
+            return -1;
+        }
+        long candidates = mask & (-1L << from);
+        if (candidates == 0) {
+            return -1;
+        }
+        int bit = Long.numberOfTrailingZeros(candidates);
+        return bit <= max ? bit : -1;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Days since 1970-01-01 of a proleptic Gregorian date (H. Hinnant's days_from_civil).
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Inverse of {@link #daysFromCivil}, packed as year << 9 | month << 5 | day to avoid allocating.
+     */
+    private static long civilFromDays(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+}
@@ -0,0 +1,66 @@
+package com.scheduler.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Assigns shards to nodes by consistent hashing. Each node is placed on a hash ring at a number of
+ * virtual points, and a shard belongs to the node owning the first point at or after the shard's
+ * own hash. A node joining or leaving only moves the shards next to its points, about 1/N of them,
+ * and every node computes the same assignment from the same set of node ids.
+ */
+class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        for (String nodeId : nodeIds) {
+            for (int point = 0; point < virtualNodes; point++) {
+                points.put(hash(nodeId + "#" + point), nodeId);
+            }
+        }
+    }
+
+    /**
+     * Node owning the shard, or null if the ring is empty.
+     */
+    String ownerOf(int shard) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> point = points.ceilingEntry(hash("shard-" + shard));
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+
+    List<Integer> shardsOf(String nodeId, int shardCount) {
+        List<Integer> shards = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (nodeId.equals(ownerOf(shard))) {
+                shards.add(shard);
+            }
+        }
+        return shards;
+    }
+
+    // First 8 bytes of the MD5 digest, which spreads similar keys evenly over the ring
+    private static long hash(String key) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        long hash = 0;
+        for (int i = 0; i < 8; i++) {
+            hash = hash << 8 | (digest[i] & 0xFF);
+        }
+        return hash;
+    }
+}
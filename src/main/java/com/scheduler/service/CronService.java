@@ -1,13 +1,61 @@
 package com.scheduler.service;
 
+import com.scheduler.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.temporal.Temporal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class CronService {
 
+    private static final int DEFAULT_CACHE_SIZE = 1024;
+
+    // Parsed expressions keyed by normalized text, least recently used evicted first
+    private final Map<String, CompiledCron> cache;
+    private final ApplicationProperties.Scheduler.CronEngine engine;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public CronService() {
+        this(DEFAULT_CACHE_SIZE, ApplicationProperties.Scheduler.CronEngine.SPRING, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public CronService(ApplicationProperties properties, MeterRegistry meterRegistry) {
+        this(properties.getScheduler().getCronCacheSize(), properties.getScheduler().getCronEngine(), meterRegistry);
+    }
+
+    CronService(int cacheSize, ApplicationProperties.Scheduler.CronEngine engine, MeterRegistry meterRegistry) {
+        this.engine = engine;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledCron> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.cacheHits = Counter.builder("scheduler.cron.cache")
+            .description("Parsed cron expression lookups")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.cacheMisses = Counter.builder("scheduler.cron.cache")
+            .description("Parsed cron expression lookups")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        Gauge.builder("scheduler.cron.cache.size", this, CronService::cacheSize)
+            .description("Parsed cron expressions currently cached")
+            .register(meterRegistry);
+    }
+
     /**
      * Parses a 6-part CRON expression and calculates the next execution time.
      * Format: second minute hour day month dayOfWeek
@@ -18,15 +66,8 @@ public class CronService {
             throw new IllegalArgumentException("Cron expression cannot be null or empty");
         }
 
-        CronExpression expression;
-        try {
-            // 1. Parse and Validate the expression
-            // The CronExpression is the successor to CronSequenceGenerator
-            expression = CronExpression.parse(cronExpression.trim());
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(
-                    "Invalid CRON expression format or values. Expected 6-part format: second minute hour day month dayOfWeek", e);
-        }
+        // 1. Parse and Validate the expression, or reuse the parsed one for identical text
+        CompiledCron expression = parse(normalize(cronExpression));
 
         // 2. Calculate the next execution time starting AFTER the fromTime
         // CronExpression works directly with java.time types (Temporal)
@@ -40,4 +81,81 @@ public class CronService {
         // 3. Cast the Temporal result back to ZonedDateTime
         return (ZonedDateTime) nextTemporal;
     }
-}
\ No newline at end of file
+
+    /**
+     * Next execution time of a job that fires a fixed offset after each time of the expression:
+     * the first time after {@code fromTime - offset}, plus the offset.
+     */
+    public ZonedDateTime getNextExecutionTime(String cronExpression, ZonedDateTime fromTime, Duration offset) {
+        return getNextExecutionTime(cronExpression, fromTime.minus(offset)).plus(offset);
+    }
+
+    /**
+     * Offset of a job within its spread window, taken from the random bits of its UUID id, so it
+     * stays the same across restarts and jobs are spread evenly over the window.
+     * Zero when the job has no spread window, or its id is not a UUID.
+     */
+    public static Duration spreadOffset(String jobId, Integer spreadWindowSeconds) {
+        if (spreadWindowSeconds == null || spreadWindowSeconds <= 0) {
+            return Duration.ZERO;
+        }
+        long randomBits;
+        try {
+            randomBits = UUID.fromString(jobId).getLeastSignificantBits();
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(Math.floorMod(randomBits, spreadWindowSeconds * 1000L));
+    }
+
+    /**
+     * Canonical text of an expression: trimmed, with fields separated by single spaces.
+     * Expressions that differ only in whitespace share one cache entry.
+     */
+    public static String normalize(String cronExpression) {
+        return String.join(" ", cronExpression.trim().split("\\s+"));
+    }
+
+    int cacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private CompiledCron parse(String normalized) {
+        synchronized (cache) {
+            CompiledCron cached = cache.get(normalized);
+            if (cached != null) {
+                cacheHits.increment();
+                return cached;
+            }
+        }
+        cacheMisses.increment();
+
+        CompiledCron expression = null;
+        if (engine == ApplicationProperties.Scheduler.CronEngine.BITMASK) {
+            BitmaskCronExpression bitmask = BitmaskCronExpression.compile(normalized);
+            if (bitmask != null) {
+                expression = bitmask::next;
+            }
+        }
+        try {
+            if (expression == null) {
+                // The CronExpression is the successor to CronSequenceGenerator
+                CronExpression spring = CronExpression.parse(normalized);
+                expression = spring::next;
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Invalid CRON expression format or values. Expected 6-part format: second minute hour day month dayOfWeek", e);
+        }
+        synchronized (cache) {
+            cache.put(normalized, expression);
+        }
+        return expression;
+    }
+
+    private interface CompiledCron {
+        ZonedDateTime next(ZonedDateTime from);
+    }
+}
@@ -0,0 +1,34 @@
+package com.scheduler.service;
+
+import com.scheduler.entity.ExecutionType;
+import com.scheduler.entity.JobExecution;
+import org.springframework.http.HttpMethod;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Everything needed to run one execution, handed to the executor by whoever created the execution
+ * so that running it does not read the execution or its job back from the database.
+ */
+public record ExecutionContext(
+        String executionId,
+        String jobId,
+        String apiUrl,
+        HttpMethod method,
+        ExecutionType executionType,
+        Integer hostConcurrencyLimit,
+        int retryCount,
+        ZonedDateTime scheduledTime) {
+
+    public static ExecutionContext of(JobDefinition job, JobExecution execution) {
+        return new ExecutionContext(
+            execution.getId(),
+            job.id(),
+            job.apiUrl(),
+            HttpMethod.GET,
+            job.executionType(),
+            job.hostConcurrencyLimit(),
+            execution.getRetryCount() == null ? 0 : execution.getRetryCount(),
+            execution.getScheduledTime());
+    }
+}
@@ -0,0 +1,60 @@
+package com.scheduler.service;
+
+import com.scheduler.repository.JobExecutionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the executions running on this node alive: their last_heartbeat_at is refreshed
+ * periodically, in one UPDATE per chunk of ids, until their result is recorded.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionHeartbeat {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final JobExecutionRepository jobExecutionRepository;
+    private final Clock clock;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public void register(String executionId) {
+        inFlight.add(executionId);
+    }
+
+    public void unregister(String executionId) {
+        inFlight.remove(executionId);
+    }
+
+    public int size() {
+        return inFlight.size();
+    }
+
+    @Scheduled(fixedRateString = "${app.job.recovery.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        try {
+            ZonedDateTime now = ZonedDateTime.now(clock);
+            List<String> ids = new ArrayList<>(inFlight);
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                jobExecutionRepository.heartbeat(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())), now);
+            }
+            log.debug("Heartbeat sent for {} running executions", ids.size());
+        } catch (Exception e) {
+            log.error("Error sending execution heartbeat: {}", e.getMessage(), e);
+        }
+    }
+}
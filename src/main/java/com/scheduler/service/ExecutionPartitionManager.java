@@ -0,0 +1,182 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.entity.UuidBinaryJavaType;
+import com.scheduler.repository.ExecutionPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the daily partitions of job_executions: keeps partitions created ahead of today,
+ * and drops partitions past the retention period, archiving them first if configured.
+ * Daily partitions are named p{yyyyMMdd} and hold the rows created on that day; the first one
+ * split off pmax also holds every older row. Does nothing if the table is not partitioned.
+ * When several nodes run it at once, all but one fail on the DDL and catch up on the next run.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionPartitionManager {
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final ExecutionPartitionRepository partitionRepository;
+    private final ApplicationProperties properties;
+    private final Clock clock;
+
+    @Scheduled(fixedRateString = "${app.job.retention.maintenance-interval-ms:3600000}")
+    public void maintainPartitions() {
+        ApplicationProperties.Job.Retention retention = properties.getJob().getRetention();
+        if (!retention.isEnabled()) {
+            return;
+        }
+        try {
+            List<String> partitions = partitionRepository.findPartitionNames();
+            if (!partitions.contains(ExecutionPartitionRepository.CATCH_ALL)) {
+                log.debug("job_executions is not partitioned, skipping partition maintenance");
+                return;
+            }
+            LocalDate today = LocalDate.now(clock);
+            createAhead(partitions, today, retention.getPartitionAheadDays());
+            dropExpired(partitions, today.minusDays(retention.getRetentionDays()), retention.getArchive());
+
+        } catch (Exception e) {
+            log.error("Error maintaining job_executions partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    private void createAhead(List<String> partitions, LocalDate today, int aheadDays) {
+        LocalDate lastDay = partitions.stream()
+            .map(ExecutionPartitionManager::dayOf)
+            .flatMap(Optional::stream)
+            .max(LocalDate::compareTo)
+            .orElse(today.minusDays(1));
+        Map<String, LocalDate> added = new LinkedHashMap<>();
+        for (LocalDate day = lastDay.isBefore(today) ? today : lastDay.plusDays(1);
+             !day.isAfter(today.plusDays(aheadDays)); day = day.plusDays(1)) {
+            added.put(partitionName(day), day);
+        }
+        if (!added.isEmpty()) {
+            partitionRepository.addDailyPartitions(added);
+            log.info("Created job_executions partitions {}", added.keySet());
+        }
+    }
+
+    private void dropExpired(List<String> partitions, LocalDate cutoff, ApplicationProperties.Job.Retention.Archive archive)
+            throws IOException {
+        for (String partition : partitions) {
+            Optional<LocalDate> day = dayOf(partition);
+            if (day.isEmpty() || !day.get().isBefore(cutoff)) {
+                continue;
+            }
+            if (archive.isEnabled()) {
+                Path file = archive(partition, Path.of(archive.getDirectory()));
+                log.info("Archived job_executions partition {} to {}", partition, file);
+            }
+            partitionRepository.dropPartition(partition);
+            log.info("Dropped job_executions partition {} (older than {})", partition, cutoff);
+        }
+    }
+
+    /**
+     * Writes every row of the partition to a gzipped CSV file with a header line. The file only
+     * appears under its final name once it is complete.
+     */
+    Path archive(String partition, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("job_executions_" + partition + ".csv.gz");
+        Path temp = directory.resolve(file.getFileName() + ".tmp");
+        AtomicBoolean headerWritten = new AtomicBoolean();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+            partitionRepository.streamPartition(partition, row -> {
+                ResultSetMetaData metaData = row.getMetaData();
+                try {
+                    if (headerWritten.compareAndSet(false, true)) {
+                        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                            writeField(writer, column, metaData.getColumnLabel(column));
+                        }
+                        writer.write('\n');
+                    }
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        writeField(writer, column, valueOf(row, metaData, column));
+                    }
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException | IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Column value as text, with the binary UUID ids in their usual string form.
+     */
+    private static String valueOf(ResultSet row, ResultSetMetaData metaData, int column) throws SQLException {
+        int type = metaData.getColumnType(column);
+        if (type == Types.BINARY || type == Types.VARBINARY) {
+            byte[] bytes = row.getBytes(column);
+            return bytes != null && bytes.length == 16 ? UuidBinaryJavaType.fromBytes(bytes) : row.getString(column);
+        }
+        return row.getString(column);
+    }
+
+    private static void writeField(Writer writer, int column, String value) throws IOException {
+        if (column > 1) {
+            writer.write(',');
+        }
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            writer.write('"' + value.replace("\"", "\"\"") + '"');
+        } else {
+            writer.write(value);
+        }
+    }
+
+    static String partitionName(LocalDate day) {
+        return "p" + day.format(DAY);
+    }
+
+    static Optional<LocalDate> dayOf(String partition) {
+        if (partition.length() != 9 || partition.charAt(0) != 'p') {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(LocalDate.parse(partition.substring(1), DAY));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
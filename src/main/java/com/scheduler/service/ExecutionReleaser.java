@@ -0,0 +1,141 @@
+package com.scheduler.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands claimed executions to the executor at their scheduled instant. Executions claimed ahead of
+ * time are parked on a single timer thread, whose delay queue releases each one at its exact time;
+ * executions already due are handed over at once. Records how far off the scheduled time every
+ * execution was released.
+ * An execution the saturated executor rejects is failed with a retry, so its row never stays PENDING;
+ * so are executions still parked when the application shuts down.
+ */
+@Component
+@Slf4j
+public class ExecutionReleaser {
+
+    private final JobExecutionService jobExecutionService;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledThreadPoolExecutor timer;
+    // Executions waiting on the timer; whoever removes one (its release or shutdown) handles it
+    private final Map<String, ExecutionContext> parked = new ConcurrentHashMap<>();
+
+    public ExecutionReleaser(JobExecutionService jobExecutionService, Clock clock, MeterRegistry meterRegistry) {
+        this.jobExecutionService = jobExecutionService;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "ExecutionReleaser");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+        Gauge.builder("scheduler.fire.parked", parked, Map::size)
+            .description("Executions claimed ahead of time and waiting for their scheduled instant")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Releases the execution at its scheduled time, or now if that has passed.
+     * @param mode scheduler mode the execution was claimed by, or retry, for the fire metrics
+     */
+    public void release(ExecutionContext context, String mode) {
+        long delayNanos = context.scheduledTime() == null ? 0
+            : Duration.between(clock.instant(), context.scheduledTime().toInstant()).toNanos();
+        if (delayNanos <= 0) {
+            fire(context, mode);
+        } else {
+            parked.put(context.executionId(), context);
+            try {
+                timer.schedule(() -> {
+                    if (parked.remove(context.executionId()) != null) {
+                        fire(context, mode);
+                    }
+                }, delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // Claimed while shutting down
+                if (parked.remove(context.executionId()) != null) {
+                    failForRetry(context);
+                }
+            }
+        }
+    }
+
+    /**
+     * Executions claimed ahead of time that are waiting for their instant. They will be handed to
+     * the executor, so they count against its capacity.
+     */
+    public int parkedCount() {
+        return parked.size();
+    }
+
+    private void fire(ExecutionContext context, String mode) {
+        try {
+            if (context.scheduledTime() != null) {
+                Duration error = Duration.between(context.scheduledTime().toInstant(), clock.instant());
+                Timer.builder("scheduler.fire.error")
+                    .description("Delay between an execution's scheduled time and its release to the executor")
+                    .tag("mode", mode)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(error.isNegative() ? Duration.ZERO : error);
+            }
+            jobExecutionService.execute(context);
+        } catch (RejectedExecutionException e) {
+            Counter.builder("scheduler.fire.rejected")
+                .description("Executions rejected by a saturated jobExecutor and failed for retry")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .increment();
+            failForRetry(context);
+        } catch (Exception e) {
+            log.error("Error releasing execution {} of job {}: {}", context.executionId(), context.jobId(), e.getMessage(), e);
+        }
+    }
+
+    private void failForRetry(ExecutionContext context) {
+        try {
+            jobExecutionService.recordRejected(context);
+        } catch (Exception e) {
+            log.error("Error failing execution {} of job {} for retry: {}", context.executionId(), context.jobId(),
+                e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Executions still parked are failed with a retry rather than dropped: their jobs have already
+     * moved on to the next fire, so the retry is the only way they still run.
+     */
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+        List<String> executionIds = List.copyOf(parked.keySet());
+        int failed = 0;
+        for (String executionId : executionIds) {
+            ExecutionContext context = parked.remove(executionId);
+            if (context != null) {
+                failForRetry(context);
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            log.warn("Shutting down with {} executions parked for their scheduled time, failed them for retry", failed);
+        }
+    }
+}
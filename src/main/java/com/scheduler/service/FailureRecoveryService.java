@@ -3,17 +3,26 @@ package com.scheduler.service;
 import com.scheduler.config.ApplicationProperties;
 import com.scheduler.entity.JobExecution;
 import com.scheduler.entity.ExecutionStatus;
+import com.scheduler.entity.TimeOrderedIds;
 import com.scheduler.repository.JobExecutionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.ZoneId;
+import java.time.Clock;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,32 +30,52 @@ import java.util.UUID;
 public class FailureRecoveryService {
     
     private final JobExecutionRepository jobExecutionRepository;
-    private final JobExecutionService jobExecutionService;
+    private final ExecutionReleaser executionReleaser;
     private final ApplicationProperties properties;
+    private final JobDefinitionCache jobDefinitions;
+    private final HostCircuitBreakerRegistry circuitBreakers;
+    private final RetryScheduler retryScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    
+    private Thread dispatcher;
     
     /**
-     * Scheduled method to detect and mark stale RUNNING jobs as FAILED
+     * Scheduled method to fail RUNNING executions whose owner stopped heartbeating, and PENDING
+     * executions that were never started because their node died first.
+     * One bounded UPDATE each; the failed rows get a next_retry_at and are picked up by the retry sweep.
      * Runs every 30 seconds
      */
     @Scheduled(fixedRate = 30000)
-    @Transactional
     public void detectStaleExecutions() {
         try {
-            ZonedDateTime staleThreshold = ZonedDateTime.now().minusSeconds(properties.getJob().getRecovery().getStaleTimeoutSeconds());
+            ApplicationProperties.Job.Recovery recovery = properties.getJob().getRecovery();
+            ApplicationProperties.Job.Retry retry = properties.getJob().getRetry();
+            ZonedDateTime now = ZonedDateTime.now(clock);
+            ZonedDateTime staleThreshold = now.minusSeconds(recovery.getStaleTimeoutSeconds());
             
-            List<JobExecution> staleExecutions = jobExecutionRepository
-                .findByStatusAndScheduledTimeBefore(ExecutionStatus.RUNNING, staleThreshold);
+            int failed = jobExecutionRepository.failStaleExecutions(staleThreshold, now, retry.getMaxAttempts(),
+                retry.getInitialDelayMs(), retry.getMultiplier(), recovery.getSweepBatchSize());
             
-            if (!staleExecutions.isEmpty()) {
-                log.warn("Found {} stale executions, marking as FAILED", staleExecutions.size());
-                
-                for (JobExecution execution : staleExecutions) {
-                    execution.setStatus(ExecutionStatus.FAILED);
-                    execution.setCompletedAt(ZonedDateTime.now());
-                    jobExecutionRepository.save(execution);
-                    
-                    log.warn("Marked stale execution {} as FAILED", execution.getId());
-                }
+            Counter.builder("scheduler.recovery.stale")
+                .description("RUNNING executions failed for a missed heartbeat")
+                .register(meterRegistry)
+                .increment(failed);
+            if (failed > 0) {
+                log.warn("Marked {} stale executions as FAILED (no heartbeat since {})", failed, staleThreshold);
+            }
+            
+            ZonedDateTime pendingThreshold = now.minusSeconds(recovery.getPendingTimeoutSeconds());
+            int orphaned = jobExecutionRepository.failOrphanedPendingExecutions(pendingThreshold, now,
+                retry.getMaxAttempts(), retry.getInitialDelayMs(), retry.getMultiplier(), recovery.getSweepBatchSize());
+            
+            Counter.builder("scheduler.recovery.orphaned")
+                .description("PENDING executions failed for never having started")
+                .register(meterRegistry)
+                .increment(orphaned);
+            if (orphaned > 0) {
+                log.warn("Marked {} orphaned executions as FAILED (still PENDING since {})", orphaned, pendingThreshold);
             }
             
         } catch (Exception e) {
@@ -55,58 +84,146 @@ public class FailureRecoveryService {
     }
     
     /**
-     * Scheduled method to retry FAILED jobs with exponential backoff
-     * Runs every 60 seconds
+     * Scheduled method to queue FAILED executions whose retry is due within the horizon.
+     * Reads at most one bounded batch through the next_retry_at index; the delay queue
+     * then fires each retry at its exact backoff time.
      */
-    @Scheduled(fixedRate = 60000)
-    @Transactional
+    @Scheduled(fixedRateString = "${app.job.retry.sweep-interval-ms:10000}")
     public void retryFailedExecutions() {
         try {
-            List<JobExecution> failedExecutions = jobExecutionRepository
-                .findByStatusAndRetryCountLessThanOrderByCreatedAtAsc(ExecutionStatus.FAILED, properties.getJob().getRetry().getMaxAttempts());
+            ApplicationProperties.Job.Retry retry = properties.getJob().getRetry();
+            ZonedDateTime until = ZonedDateTime.now(clock).plusSeconds(retry.getHorizonSeconds());
+            List<JobExecution> dueRetries = jobExecutionRepository
+                .findDueRetries(until, PageRequest.of(0, retry.getBatchSize()));
             
-            if (!failedExecutions.isEmpty()) {
-                log.info("Found {} failed executions eligible for retry", failedExecutions.size());
-                
-                for (JobExecution failedExecution : failedExecutions) {
-                    if (shouldRetry(failedExecution)) {
-                        createRetryExecution(failedExecution);
-                    }
+            int queued = 0;
+            for (JobExecution failedExecution : dueRetries) {
+                if (retryScheduler.schedule(failedExecution.getId(), failedExecution.getJobId(),
+                        failedExecution.getRetryCount(), failedExecution.getNextRetryAt())) {
+                    queued++;
                 }
             }
+            retryCounter("queued").increment(queued);
+            if (queued > 0) {
+                log.info("Queued {} failed executions for retry", queued);
+            }
             
         } catch (Exception e) {
             log.error("Error retrying failed executions: {}", e.getMessage(), e);
         }
     }
     
-    boolean shouldRetry(JobExecution failedExecution) {
-        ZonedDateTime now = ZonedDateTime.now();
-        long delayMs = calculateRetryDelay(failedExecution.getRetryCount());
-        ZonedDateTime retryTime = failedExecution.getCompletedAt().plusNanos(delayMs * 1_000_000);
-        
-        return now.isAfter(retryTime);
+    @PostConstruct
+    public void start() {
+        if (!properties.getScheduler().isEnabled()) {
+            return;
+        }
+        dispatcher = new Thread(this::dispatchRetries, "RetryDispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
     }
     
-    long calculateRetryDelay(int retryCount) {
-        return (long) (properties.getJob().getRetry().getInitialDelayMs() * Math.pow(properties.getJob().getRetry().getMultiplier(), retryCount));
+    @PreDestroy
+    public void stop() {
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+    }
+    
+    private void dispatchRetries() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                fireRetries(retryScheduler.takeDue(properties.getJob().getRetry().getBatchSize()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Error firing retries: {}", e.getMessage(), e);
+            }
+        }
     }
     
-    private void createRetryExecution(JobExecution failedExecution) {
-        JobExecution retryExecution = JobExecution.builder()
-            .id(UUID.randomUUID().toString())
-            .jobId(failedExecution.getJobId())
-            .status(ExecutionStatus.PENDING)
-            .scheduledTime(ZonedDateTime.now())
-            .retryCount(failedExecution.getRetryCount() + 1)
-            .build();
+    /**
+     * Fires the retries that are due by the clock without waiting for them, for callers
+     * that drive time themselves instead of the dispatcher thread.
+     * @return the number of retries fired
+     */
+    public int fireDueRetries() {
+        List<RetryScheduler.DueRetry> dueRetries = retryScheduler.pollDue(properties.getJob().getRetry().getBatchSize());
+        if (!dueRetries.isEmpty()) {
+            fireRetries(dueRetries);
+        }
+        return dueRetries.size();
+    }
+    
+    /**
+     * Creates a retry execution for each due failure, in one short transaction.
+     * The original is marked superseded first, so a failure is only ever retried once even if
+     * it was queued on several instances. Retries to hosts with an open circuit are pushed back
+     * by the open duration instead, without using up an attempt. Jobs come from the definition
+     * cache, so a batch of retries costs at most one job query.
+     */
+    void fireRetries(List<RetryScheduler.DueRetry> dueRetries) {
+        Map<String, JobDefinition> jobs = jobDefinitions.getAll(
+            dueRetries.stream().map(RetryScheduler.DueRetry::jobId).collect(Collectors.toSet()));
+        Set<String> shortCircuitedJobIds = shortCircuitedJobIds(jobs);
+        ZonedDateTime now = ZonedDateTime.now(clock);
         
-        jobExecutionRepository.save(retryExecution);
+        List<ExecutionContext> retryExecutions = transactionTemplate.execute(status -> {
+            List<JobExecution> retries = new ArrayList<>();
+            List<ExecutionContext> contexts = new ArrayList<>();
+            for (RetryScheduler.DueRetry dueRetry : dueRetries) {
+                JobDefinition job = jobs.get(dueRetry.jobId());
+                if (shortCircuitedJobIds.contains(dueRetry.jobId())) {
+                    jobExecutionRepository.deferRetry(dueRetry.executionId(),
+                        now.plusSeconds(properties.getJob().getCircuitBreaker().getOpenDurationSeconds()));
+                    retryCounter("deferred").increment();
+                    continue;
+                }
+                if (jobExecutionRepository.markSuperseded(dueRetry.executionId()) == 0) {
+                    continue;
+                }
+                if (job == null) {
+                    log.warn("Job {} of failed execution {} no longer exists, not retrying", dueRetry.jobId(), dueRetry.executionId());
+                    continue;
+                }
+                JobExecution retry = JobExecution.builder()
+                    .id(TimeOrderedIds.next())
+                    .jobId(dueRetry.jobId())
+                    .status(ExecutionStatus.PENDING)
+                    .scheduledTime(now)
+                    .retryCount(dueRetry.retryCount() + 1)
+                    .build();
+                retries.add(retry);
+                contexts.add(ExecutionContext.of(job, retry));
+            }
+            jobExecutionRepository.saveAll(retries);
+            return contexts;
+        });
         
-        // Execute the retry asynchronously
-        jobExecutionService.execute(retryExecution.getId());
+        retryCounter("fired").increment(retryExecutions.size());
         
-        log.info("Created retry execution {} for job {} (attempt {})", 
-            retryExecution.getId(), failedExecution.getJobId(), retryExecution.getRetryCount());
+        // Execute the retries asynchronously, once they are committed
+        for (ExecutionContext retryExecution : retryExecutions) {
+            executionReleaser.release(retryExecution, "retry");
+            log.info("Created retry execution {} for job {} (attempt {})",
+                retryExecution.executionId(), retryExecution.jobId(), retryExecution.retryCount());
+        }
+    }
+    
+    private Counter retryCounter(String result) {
+        return Counter.builder("scheduler.recovery.retries")
+            .description("Failed executions queued, fired or deferred by retry recovery")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Jobs whose target host's circuit is currently open
+     */
+    private Set<String> shortCircuitedJobIds(Map<String, JobDefinition> jobs) {
+        return jobs.values().stream()
+            .filter(job -> circuitBreakers.isOpen(job.apiUrl()))
+            .map(JobDefinition::id)
+            .collect(Collectors.toSet());
     }
 }
@@ -0,0 +1,151 @@
+package com.scheduler.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding items until their deadline (epoch millis).
+ * Level 0 has {@code wheelSize} buckets of {@code tickMs}; every higher level is
+ * {@code wheelSize} times coarser and is cascaded into the lower levels as time advances.
+ * Not thread-safe: callers are expected to drive it from a single thread.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final Level root;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size greater than 1");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.root = new Level(tickMs, startMs);
+    }
+
+    /**
+     * Adds an item to the wheel. Deadlines are rounded up to the next tick, so an item
+     * is never released before its deadline and at most one tick after it.
+     * @return false if the deadline has already been reached, i.e. the item is due now
+     */
+    public boolean add(T item, long deadlineMs) {
+        long slotMs = Math.floorDiv(deadlineMs + tickMs - 1, tickMs) * tickMs;
+        boolean added = root.add(new Entry<>(item, slotMs));
+        if (added) {
+            size++;
+        }
+        return added;
+    }
+
+    /**
+     * Advances the wheel clock to {@code nowMs} and returns every item whose deadline has been reached.
+     */
+    public List<T> advanceTo(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        if (size == 0) {
+            root.reset(nowMs);
+            return expired;
+        }
+        while (root.currentTime + tickMs <= nowMs) {
+            advanceOneTick(root.currentTime + tickMs, expired);
+            if (size == 0) {
+                root.reset(nowMs);
+                break;
+            }
+        }
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long currentTimeMs() {
+        return root.currentTime;
+    }
+
+    private void advanceOneTick(long time, List<T> expired) {
+        List<Entry<T>> cascaded = new ArrayList<>();
+        // Every coarser level whose tick boundary is crossed hands its current bucket down
+        for (Level level = root; level != null && time % level.tick == 0; level = level.overflow) {
+            level.currentTime = time;
+            List<Entry<T>> bucket = level.drain(time);
+            size -= bucket.size();
+            if (level == root) {
+                bucket.forEach(entry -> expired.add(entry.item));
+            } else {
+                cascaded.addAll(bucket);
+            }
+        }
+        for (Entry<T> entry : cascaded) {
+            if (root.add(entry)) {
+                size++;
+            } else {
+                expired.add(entry.item);
+            }
+        }
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final long deadlineMs;
+
+        private Entry(T item, long deadlineMs) {
+            this.item = item;
+            this.deadlineMs = deadlineMs;
+        }
+    }
+
+    private final class Level {
+        private final long tick;
+        private final long interval;
+        private final List<Entry<T>>[] buckets;
+        private long currentTime;
+        private Level overflow;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tick, long startMs) {
+            this.tick = tick;
+            this.interval = tick * wheelSize;
+            this.buckets = new List[wheelSize];
+            this.currentTime = Math.floorDiv(startMs, tick) * tick;
+        }
+
+        private boolean add(Entry<T> entry) {
+            if (entry.deadlineMs < currentTime + tick) {
+                return false;
+            }
+            if (entry.deadlineMs < currentTime + interval) {
+                int index = (int) ((entry.deadlineMs / tick) % wheelSize);
+                if (buckets[index] == null) {
+                    buckets[index] = new ArrayList<>();
+                }
+                buckets[index].add(entry);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, currentTime);
+            }
+            return overflow.add(entry);
+        }
+
+        private List<Entry<T>> drain(long time) {
+            int index = (int) ((time / tick) % wheelSize);
+            List<Entry<T>> bucket = buckets[index];
+            if (bucket == null) {
+                return List.of();
+            }
+            buckets[index] = null;
+            return bucket;
+        }
+
+        private void reset(long nowMs) {
+            currentTime = Math.floorDiv(nowMs, tick) * tick;
+            if (overflow != null) {
+                overflow.reset(nowMs);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Per-target-host concurrency limits for outbound calls. Once a host has reached its limit,
+ * further calls to it wait in that host's own bounded queue and are rejected when the queue is
+ * full; calls to other hosts are unaffected. Waiting calls do not hold a thread.
+ */
+@Component
+@Slf4j
+public class HostBulkheadRegistry {
+
+    private final ApplicationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Executor jobExecutor;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public HostBulkheadRegistry(ApplicationProperties properties, MeterRegistry meterRegistry,
+                                @Qualifier("jobExecutor") Executor jobExecutor) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.jobExecutor = jobExecutor;
+    }
+
+    /**
+     * Runs the call once the target host has a free slot.
+     * @param limitOverride per-job limit, or null to use the configured host/default limit
+     * @return the call's result, or a future failed with BulkheadFullException if the host's queue is full
+     */
+    public <T> CompletableFuture<T> execute(String apiUrl, Integer limitOverride, Supplier<CompletableFuture<T>> call) {
+        String host = hostOf(apiUrl);
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(host, this::register);
+        int limit = limitOverride != null ? limitOverride : limitFor(host);
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> start(bulkhead, call, result);
+        synchronized (bulkhead) {
+            if (bulkhead.inFlight < limit) {
+                bulkhead.inFlight++;
+            } else if (bulkhead.waiting.size() < properties.getJob().getBulkhead().getMaxQueued()) {
+                bulkhead.waiting.add(start);
+                return result;
+            } else {
+                bulkhead.rejected.increment();
+                log.warn("Bulkhead for host {} is full ({} in flight), rejecting call", host, bulkhead.inFlight);
+                result.completeExceptionally(new BulkheadFullException("Too many concurrent calls to host " + host));
+                return result;
+            }
+        }
+        start.run();
+        return result;
+    }
+
+    public int inFlight(String host) {
+        Bulkhead bulkhead = bulkheads.get(host);
+        return bulkhead == null ? 0 : bulkhead.inFlight;
+    }
+
+    private <T> void start(Bulkhead bulkhead, Supplier<CompletableFuture<T>> call, CompletableFuture<T> result) {
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, error) -> {
+            release(bulkhead);
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private void release(Bulkhead bulkhead) {
+        Runnable next;
+        synchronized (bulkhead) {
+            next = bulkhead.waiting.poll();
+            if (next == null) {
+                bulkhead.inFlight--;
+            }
+        }
+        if (next != null) {
+            // The freed slot passes straight to the next waiting call, on an executor thread
+            try {
+                jobExecutor.execute(next);
+            } catch (RuntimeException e) {
+                next.run();
+            }
+        }
+    }
+
+    private int limitFor(String host) {
+        ApplicationProperties.Job.Bulkhead config = properties.getJob().getBulkhead();
+        return config.getHostLimits().getOrDefault(host, config.getDefaultMaxConcurrent());
+    }
+
+    private Bulkhead register(String host) {
+        Bulkhead bulkhead = new Bulkhead(Counter.builder("scheduler.bulkhead.rejected")
+            .description("Calls shed because the target host's bulkhead was full")
+            .tag("host", host)
+            .register(meterRegistry));
+        Gauge.builder("scheduler.bulkhead.in_flight", bulkhead, b -> b.inFlight)
+            .description("Calls currently in flight to the target host")
+            .tag("host", host)
+            .register(meterRegistry);
+        Gauge.builder("scheduler.bulkhead.queued", bulkhead, b -> b.waiting.size())
+            .description("Calls waiting for a free slot towards the target host")
+            .tag("host", host)
+            .register(meterRegistry);
+        return bulkhead;
+    }
+
+    static String hostOf(String apiUrl) {
+        try {
+            URI uri = URI.create(apiUrl);
+            if (uri.getHost() == null) {
+                return apiUrl;
+            }
+            return uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+        } catch (IllegalArgumentException e) {
+            return apiUrl;
+        }
+    }
+
+    private static final class Bulkhead {
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+        private final Counter rejected;
+        private volatile int inFlight;
+
+        private Bulkhead(Counter rejected) {
+            this.rejected = rejected;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.exception.BulkheadFullException;
+import com.scheduler.exception.CircuitOpenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-target-host circuit breakers for outbound calls. A host's circuit opens when the failure
+ * rate over its most recent calls crosses the threshold; while open, calls fail immediately with
+ * CircuitOpenException and no network I/O. After the open duration a single probe call is let
+ * through, and its outcome either closes the circuit or re-opens it.
+ * A call counts as failed when it errors or returns a 5xx status; calls shed by the bulkhead
+ * never reached the host and are not counted.
+ */
+@Component
+@Slf4j
+public class HostCircuitBreakerRegistry {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    public record Snapshot(State state, float failureRate, int bufferedCalls, int failedCalls,
+                           Instant openedAt, long notPermittedCalls) {
+    }
+
+    private final ApplicationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public HostCircuitBreakerRegistry(ApplicationProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs the call unless the target host's circuit is open.
+     * @return the call's status code, or a future failed with CircuitOpenException if the call was not permitted
+     */
+    public CompletableFuture<Integer> execute(String apiUrl, Supplier<CompletableFuture<Integer>> call) {
+        if (!properties.getJob().getCircuitBreaker().isEnabled()) {
+            return call.get();
+        }
+        String host = HostBulkheadRegistry.hostOf(apiUrl);
+        CircuitBreaker breaker = breakers.computeIfAbsent(host, this::register);
+
+        boolean probe;
+        synchronized (breaker) {
+            if (breaker.state == State.OPEN && openDurationElapsed(breaker)) {
+                breaker.state = State.HALF_OPEN;
+                log.info("Circuit for host {} is half-open, letting a probe call through", host);
+            }
+            if (breaker.state == State.OPEN || (breaker.state == State.HALF_OPEN && breaker.probeInFlight)) {
+                breaker.notPermitted.increment();
+                return CompletableFuture.failedFuture(new CircuitOpenException("Circuit open for host " + host));
+            }
+            probe = breaker.state == State.HALF_OPEN;
+            breaker.probeInFlight |= probe;
+        }
+
+        CompletableFuture<Integer> future;
+        try {
+            future = call.get();
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((statusCode, error) -> onComplete(host, breaker, probe, outcomeOf(statusCode, error)));
+    }
+
+    /**
+     * Whether calls to the URL's host are currently being short-circuited.
+     * A circuit whose open duration has elapsed is reported as not open, since a probe may go through.
+     */
+    public boolean isOpen(String apiUrl) {
+        CircuitBreaker breaker = breakers.get(HostBulkheadRegistry.hostOf(apiUrl));
+        if (breaker == null) {
+            return false;
+        }
+        synchronized (breaker) {
+            return breaker.state == State.OPEN && !openDurationElapsed(breaker);
+        }
+    }
+
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        breakers.forEach((host, breaker) -> {
+            synchronized (breaker) {
+                snapshot.put(host, new Snapshot(breaker.state, breaker.failureRate(), breaker.buffered,
+                    breaker.failed, breaker.openedAtMs == 0 ? null : Instant.ofEpochMilli(breaker.openedAtMs),
+                    (long) breaker.notPermitted.count()));
+            }
+        });
+        return snapshot;
+    }
+
+    private void onComplete(String host, CircuitBreaker breaker, boolean probe, Outcome outcome) {
+        synchronized (breaker) {
+            if (probe) {
+                breaker.probeInFlight = false;
+                if (outcome == Outcome.SUCCESS) {
+                    breaker.state = State.CLOSED;
+                    breaker.openedAtMs = 0;
+                    breaker.reset();
+                    log.info("Probe call to host {} succeeded, circuit closed", host);
+                } else if (outcome == Outcome.FAILURE) {
+                    open(host, breaker);
+                }
+                return;
+            }
+            // Outcomes of calls started before the circuit opened no longer matter
+            if (breaker.state != State.CLOSED || outcome == Outcome.IGNORED) {
+                return;
+            }
+            breaker.record(outcome == Outcome.FAILURE);
+            ApplicationProperties.Job.CircuitBreaker config = properties.getJob().getCircuitBreaker();
+            if (breaker.buffered >= config.getMinimumCalls() && breaker.failureRate() >= config.getFailureRateThreshold()) {
+                open(host, breaker);
+            }
+        }
+    }
+
+    private void open(String host, CircuitBreaker breaker) {
+        log.warn("Circuit for host {} opened ({}% of the last {} calls failed)", host,
+            breaker.failureRate(), breaker.buffered);
+        breaker.state = State.OPEN;
+        breaker.openedAtMs = clock.millis();
+        breaker.reset();
+    }
+
+    private boolean openDurationElapsed(CircuitBreaker breaker) {
+        long openMs = properties.getJob().getCircuitBreaker().getOpenDurationSeconds() * 1000L;
+        return clock.millis() - breaker.openedAtMs >= openMs;
+    }
+
+    private static Outcome outcomeOf(Integer statusCode, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof BulkheadFullException) {
+            return Outcome.IGNORED;
+        }
+        if (cause != null || statusCode == null || statusCode >= 500) {
+            return Outcome.FAILURE;
+        }
+        return Outcome.SUCCESS;
+    }
+
+    private CircuitBreaker register(String host) {
+        CircuitBreaker breaker = new CircuitBreaker(properties.getJob().getCircuitBreaker().getSlidingWindowSize(),
+            Counter.builder("scheduler.circuit_breaker.not_permitted")
+                .description("Calls short-circuited because the target host's circuit was open")
+                .tag("host", host)
+                .register(meterRegistry));
+        Gauge.builder("scheduler.circuit_breaker.state", breaker, b -> b.state.ordinal())
+            .description("Circuit state of the target host (0 closed, 1 open, 2 half-open)")
+            .tag("host", host)
+            .register(meterRegistry);
+        return breaker;
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        FAILURE,
+        IGNORED
+    }
+
+    /**
+     * Count-based sliding window: a ring of the last N call outcomes.
+     */
+    private static final class CircuitBreaker {
+        private final boolean[] window;
+        private final Counter notPermitted;
+        private int next;
+        private int buffered;
+        private int failed;
+        private volatile State state = State.CLOSED;
+        private long openedAtMs;
+        private boolean probeInFlight;
+
+        private CircuitBreaker(int windowSize, Counter notPermitted) {
+            this.window = new boolean[windowSize];
+            this.notPermitted = notPermitted;
+        }
+
+        private void record(boolean failure) {
+            if (buffered == window.length) {
+                if (window[next]) {
+                    failed--;
+                }
+            } else {
+                buffered++;
+            }
+            window[next] = failure;
+            if (failure) {
+                failed++;
+            }
+            next = (next + 1) % window.length;
+        }
+
+        private void reset() {
+            Arrays.fill(window, false);
+            next = 0;
+            buffered = 0;
+            failed = 0;
+        }
+
+        private float failureRate() {
+            return buffered == 0 ? 0f : failed * 100f / buffered;
+        }
+    }
+}
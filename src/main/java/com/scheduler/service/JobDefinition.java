@@ -0,0 +1,14 @@
+package com.scheduler.service;
+
+import com.scheduler.entity.ExecutionType;
+import com.scheduler.entity.Job;
+
+/**
+ * The parts of a job an execution needs, detached from the persistence context.
+ */
+public record JobDefinition(String id, String apiUrl, ExecutionType executionType, Integer hostConcurrencyLimit) {
+
+    public static JobDefinition of(Job job) {
+        return new JobDefinition(job.getId(), job.getApiUrl(), job.getExecutionType(), job.getHostConcurrencyLimit());
+    }
+}
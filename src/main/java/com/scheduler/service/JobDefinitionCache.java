@@ -0,0 +1,102 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.entity.Job;
+import com.scheduler.repository.JobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of job definitions, so that retries need not load their job. Refreshed with the
+ * current row every time the scheduler claims a job, and evicted when a job is deactivated;
+ * misses are loaded in one query.
+ */
+@Component
+public class JobDefinitionCache {
+
+    private final JobRepository jobRepository;
+    // Least recently used evicted first
+    private final Map<String, JobDefinition> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public JobDefinitionCache(JobRepository jobRepository, ApplicationProperties properties, MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        int cacheSize = properties.getScheduler().getJobCacheSize();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JobDefinition> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.hits = Counter.builder("scheduler.job.cache")
+            .description("Job definition lookups")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder("scheduler.job.cache")
+            .description("Job definition lookups")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        Gauge.builder("scheduler.job.cache.size", this, JobDefinitionCache::size)
+            .description("Job definitions currently cached")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Caches the job's current definition, or evicts it if the job is no longer active.
+     * @return the job's definition
+     */
+    public JobDefinition put(Job job) {
+        JobDefinition definition = JobDefinition.of(job);
+        synchronized (cache) {
+            if (Boolean.TRUE.equals(job.getIsActive())) {
+                cache.put(job.getId(), definition);
+            } else {
+                cache.remove(job.getId());
+            }
+        }
+        return definition;
+    }
+
+    /**
+     * Definitions of the given jobs, loading the ones not cached in a single query.
+     * Jobs that no longer exist are missing from the result.
+     */
+    public Map<String, JobDefinition> getAll(Collection<String> jobIds) {
+        Map<String, JobDefinition> definitions = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        synchronized (cache) {
+            for (String jobId : jobIds) {
+                JobDefinition cached = cache.get(jobId);
+                if (cached != null) {
+                    definitions.put(jobId, cached);
+                } else {
+                    missing.add(jobId);
+                }
+            }
+        }
+        hits.increment(definitions.size());
+        if (!missing.isEmpty()) {
+            misses.increment(missing.size());
+            for (Job job : jobRepository.findAllById(missing)) {
+                definitions.put(job.getId(), put(job));
+            }
+        }
+        return definitions;
+    }
+
+    int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
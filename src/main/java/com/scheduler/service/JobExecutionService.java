@@ -1,80 +1,159 @@
 package com.scheduler.service;
 
-import com.scheduler.entity.Job;
-import com.scheduler.entity.JobExecution;
 import com.scheduler.entity.ExecutionStatus;
-import com.scheduler.repository.JobRepository;
+import com.scheduler.exception.BulkheadFullException;
+import com.scheduler.exception.CircuitOpenException;
 import com.scheduler.repository.JobExecutionRepository;
-import com.scheduler.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpMethod;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class JobExecutionService {
-    
+
     private final JobExecutionRepository jobExecutionRepository;
-    private final JobRepository jobRepository;
     private final ApiClientService apiClientService;
-    
+    private final HostBulkheadRegistry hostBulkheads;
+    private final HostCircuitBreakerRegistry circuitBreakers;
+    private final RetryScheduler retryScheduler;
+    private final ExecutionHeartbeat heartbeat;
+    private final SchedulerNode schedulerNode;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Runs one execution without holding a transaction across the HTTP call.
+     * The caller hands over everything the execution needs, so the only database steps are
+     * marking it RUNNING and recording its result, each its own short transaction.
+     * A connection is only checked out for milliseconds regardless of how slow the endpoint is.
+     * With the async HTTP engine this method returns as soon as the request is sent and the
+     * result is recorded from the response callback, so no thread waits on the endpoint.
+     */
     @Async("jobExecutor")
-    @Transactional
-    public void execute(String jobExecutionId) {
-        JobExecution execution = jobExecutionRepository.findById(jobExecutionId)
-            .orElseThrow(() -> new RuntimeException("Job execution not found: " + jobExecutionId));
-        
-        Job job = jobRepository.findById(execution.getJobId())
-            .orElseThrow(() -> new RuntimeException("Job not found: " + execution.getJobId()));
-        
-        log.info("Starting execution of job {} with execution ID: {}", job.getId(), execution.getId());
-        
-        ZonedDateTime startTime = ZonedDateTime.now();
-        execution.setStatus(ExecutionStatus.RUNNING);
-        execution.setStartedAt(startTime);
-        jobExecutionRepository.save(execution);
-        
+    public void execute(ExecutionContext context) {
+        ZonedDateTime startTime = ZonedDateTime.now(clock);
+        if (jobExecutionRepository.markRunning(context.executionId(), startTime, schedulerNode.getId()) == 0) {
+            log.warn("Execution {} of job {} is no longer PENDING, skipping", context.executionId(), context.jobId());
+            return;
+        }
+        heartbeat.register(context.executionId());
+        recordLag(context, startTime);
+
+        log.info("Starting execution of job {} with execution ID: {}", context.jobId(), context.executionId());
+
+        // Perform HTTP to the job's API URL, outside of any transaction, unless the host's circuit is open
+        // and within the host's bulkhead
+        circuitBreakers.execute(context.apiUrl(), () -> hostBulkheads.execute(context.apiUrl(), context.hostConcurrencyLimit(),
+                () -> apiClientService.executeApiCallAsync(context.apiUrl(), context.method(), context.executionId(), null)))
+            .whenComplete((responseStatusCode, error) ->
+                recordOutcome(context, startTime, responseStatusCode, error));
+    }
+
+    /**
+     * Fails an execution the jobExecutor rejected before it started, scheduling its retry like
+     * any other execution shed locally, so that its row does not stay PENDING.
+     */
+    public void recordRejected(ExecutionContext context) {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime nextRetryAt = retryScheduler.nextRetryAt(context.retryCount(), now);
+        if (jobExecutionRepository.failPending(context.executionId(), now, nextRetryAt) == 0) {
+            log.warn("Rejected execution {} of job {} is no longer PENDING, leaving it", context.executionId(), context.jobId());
+            return;
+        }
+        if (nextRetryAt != null) {
+            retryScheduler.schedule(context.executionId(), context.jobId(), context.retryCount(), nextRetryAt);
+        }
+        log.warn("Execution {} of job {} rejected by the saturated job executor", context.executionId(), context.jobId());
+    }
+
+    private void recordOutcome(ExecutionContext context, ZonedDateTime startTime,
+                               Integer responseStatusCode, Throwable error) {
+        ZonedDateTime endTime = ZonedDateTime.now(clock);
+        long duration = Duration.between(startTime, endTime).toMillis();
+        // Errors passed through the circuit breaker's whenComplete stage arrive wrapped
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
         try {
-            // Perform HTTP to the job's API URL
-            int responseStatusCode = apiClientService.executeApiCall(job.getApiUrl(), HttpMethod.GET ,execution.getId(),null);
-            
-            ZonedDateTime endTime = ZonedDateTime.now();
-            long duration = java.time.Duration.between(startTime, endTime).toMillis();
-
-            if(responseStatusCode == 200) {
-                execution.setStatus(ExecutionStatus.SUCCESS);
+            if (error == null && responseStatusCode == 200) {
+                recordResult(context, ExecutionStatus.SUCCESS, endTime, duration, responseStatusCode, null);
+
+                log.info("Successfully completed execution of job {} with execution ID: {} in {} ms",
+                    context.jobId(), context.executionId(), duration);
+            } else if (error == null) {
+                recordFailure(context, endTime, duration, responseStatusCode);
+
+                log.info("Completed execution of job {} with execution ID: {} in {} ms with status {}",
+                    context.jobId(), context.executionId(), duration, responseStatusCode);
+            } else if (error instanceof BulkheadFullException || error instanceof CircuitOpenException) {
+                // Shed locally without reaching the endpoint, so there is no response status
+                recordFailure(context, endTime, duration, null);
+
+                log.warn("Execution {} of job {} shed: {}", context.executionId(), context.jobId(), error.getMessage());
             } else {
-                execution.setStatus(ExecutionStatus.FAILED);
+                recordFailure(context, endTime, duration, 500);
+
+                log.error("Failed to execute job {} with execution ID: {} after {} ms. Error: {}",
+                    context.jobId(), context.executionId(), duration, error.getMessage(), error);
             }
-            execution.setCompletedAt(endTime);
-            execution.setDurationMs(duration);
-            execution.setStatusCode(responseStatusCode);
-            
-            jobExecutionRepository.save(execution);
-            
-            log.info("Successfully completed execution of job {} with execution ID: {} in {} ms", 
-                job.getId(), execution.getId(), duration);
-                
         } catch (Exception e) {
-            ZonedDateTime endTime = ZonedDateTime.now();
-            long duration = java.time.Duration.between(startTime, endTime).toMillis();
-            
-            execution.setStatus(ExecutionStatus.FAILED);
-            execution.setCompletedAt(endTime);
-            execution.setDurationMs(duration);
-            execution.setStatusCode(500);
-            
-            jobExecutionRepository.save(execution);
-            
-            log.error("Failed to execute job {} with execution ID: {} after {} ms. Error: {}", 
-                job.getId(), execution.getId(), duration, e.getMessage(), e);
+            log.error("Error recording result of execution {}: {}", context.executionId(), e.getMessage(), e);
+        } finally {
+            heartbeat.unregister(context.executionId());
+        }
+    }
+
+    /**
+     * Records how late the execution started relative to the time it was due, first attempts
+     * and retries separately.
+     */
+    private void recordLag(ExecutionContext context, ZonedDateTime startTime) {
+        if (context.scheduledTime() == null) {
+            return;
+        }
+        boolean retry = context.retryCount() > 0;
+        Duration lag = Duration.between(context.scheduledTime(), startTime);
+        Timer.builder("scheduler.execution.lag")
+            .description("Delay between an execution's scheduled time and its start")
+            .tag("attempt", retry ? "retry" : "first")
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    /**
+     * Records the failure together with its next retry time, and queues the retry in memory
+     * if it is due soon enough.
+     */
+    private void recordFailure(ExecutionContext context, ZonedDateTime endTime, long duration, Integer statusCode) {
+        ZonedDateTime nextRetryAt = retryScheduler.nextRetryAt(context.retryCount(), endTime);
+        if (recordResult(context, ExecutionStatus.FAILED, endTime, duration, statusCode, nextRetryAt) && nextRetryAt != null) {
+            retryScheduler.schedule(context.executionId(), context.jobId(), context.retryCount(), nextRetryAt);
+        }
+    }
+
+    /**
+     * Records the result unless the execution is no longer RUNNING, e.g. because the stale sweep
+     * failed it in the meantime and its retry may already be under way.
+     * @return whether the result was recorded
+     */
+    private boolean recordResult(ExecutionContext context, ExecutionStatus status, ZonedDateTime endTime, long duration,
+                                 Integer statusCode, ZonedDateTime nextRetryAt) {
+        if (jobExecutionRepository.recordResult(context.executionId(), status, endTime, duration, statusCode, nextRetryAt) == 0) {
+            log.warn("Execution {} of job {} is no longer RUNNING, discarding its {} result",
+                context.executionId(), context.jobId(), status);
+            return false;
         }
+        return true;
     }
 }
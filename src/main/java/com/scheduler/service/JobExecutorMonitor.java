@@ -0,0 +1,101 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.config.RejectionCountingPolicy;
+import com.scheduler.config.VirtualThreadJobExecutor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Read-only view of the jobExecutor's load, used to size scheduler claims and exported as
+ * the scheduler.executor.* meters.
+ */
+@Component
+public class JobExecutorMonitor {
+
+    private final Executor jobExecutor;
+    private final ApplicationProperties properties;
+
+    public JobExecutorMonitor(@Qualifier("jobExecutor") Executor jobExecutor, ApplicationProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.jobExecutor = jobExecutor;
+        this.properties = properties;
+        Gauge.builder("scheduler.executor.active", this, JobExecutorMonitor::activeCount)
+            .description("Executions currently running on the jobExecutor")
+            .register(meterRegistry);
+        Gauge.builder("scheduler.executor.queued", this, JobExecutorMonitor::queueDepth)
+            .description("Executions waiting for a jobExecutor thread")
+            .register(meterRegistry);
+        FunctionCounter.builder("scheduler.executor.rejected", this, JobExecutorMonitor::rejectedCount)
+            .description("Executions rejected by a saturated jobExecutor")
+            .register(meterRegistry);
+    }
+
+    public int queueDepth() {
+        if (jobExecutor instanceof ThreadPoolTaskExecutor threadPool) {
+            return threadPool.getThreadPoolExecutor().getQueue().size();
+        }
+        if (jobExecutor instanceof VirtualThreadJobExecutor virtualThreads) {
+            return virtualThreads.getQueueSize();
+        }
+        return 0;
+    }
+
+    public long rejectedCount() {
+        if (jobExecutor instanceof ThreadPoolTaskExecutor threadPool
+                && threadPool.getThreadPoolExecutor().getRejectedExecutionHandler() instanceof RejectionCountingPolicy policy) {
+            return policy.getRejectedCount();
+        }
+        if (jobExecutor instanceof VirtualThreadJobExecutor virtualThreads) {
+            return virtualThreads.getRejectedCount();
+        }
+        return 0;
+    }
+
+    /**
+     * Executions the jobExecutor still accepts before it starts rejecting them: free queue slots,
+     * plus the threads the pool can still start. Executors without a bound report Integer.MAX_VALUE.
+     */
+    public int remainingCapacity() {
+        if (jobExecutor instanceof ThreadPoolTaskExecutor threadPool) {
+            ThreadPoolExecutor pool = threadPool.getThreadPoolExecutor();
+            return pool.getQueue().remainingCapacity() + Math.max(0, pool.getMaximumPoolSize() - pool.getPoolSize());
+        }
+        if (jobExecutor instanceof VirtualThreadJobExecutor virtualThreads) {
+            return virtualThreads.getRemainingCapacity();
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    public int queueCapacity() {
+        return properties.getExecutor().getQueueCapacity();
+    }
+
+    public int activeCount() {
+        if (jobExecutor instanceof ThreadPoolTaskExecutor threadPool) {
+            return threadPool.getActiveCount();
+        }
+        if (jobExecutor instanceof VirtualThreadJobExecutor virtualThreads) {
+            return virtualThreads.getActiveCount();
+        }
+        return 0;
+    }
+
+    /**
+     * Fraction of the executor queue currently in use, between 0 and 1.
+     */
+    public double queueFillRatio() {
+        int capacity = queueCapacity();
+        if (capacity <= 0) {
+            return 0;
+        }
+        return Math.min(1.0, (double) queueDepth() / capacity);
+    }
+}
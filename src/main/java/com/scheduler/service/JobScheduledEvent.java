@@ -0,0 +1,10 @@
+package com.scheduler.service;
+
+import com.scheduler.entity.Job;
+
+/**
+ * Published when a job is created with, or changed to, a new next execution time, so the timing
+ * wheel can arm it once the change has committed instead of on its next refill.
+ */
+public record JobScheduledEvent(Job job) {
+}
@@ -1,22 +1,31 @@
 package com.scheduler.service;
 
+import com.scheduler.config.ApplicationProperties;
 import com.scheduler.entity.Job;
 import com.scheduler.entity.JobExecution;
 import com.scheduler.entity.ExecutionStatus;
+import com.scheduler.entity.TimeOrderedIds;
+import com.scheduler.entity.UuidBinaryJavaType;
 import com.scheduler.repository.JobRepository;
 import com.scheduler.repository.JobExecutionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.ZoneId;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -25,82 +34,249 @@ public class JobSchedulingService {
     
     private final JobRepository jobRepository;
     private final JobExecutionRepository jobExecutionRepository;
-    private final JobExecutionService jobExecutionService;
+    private final ExecutionReleaser executionReleaser;
     private final CronService cronService;
+    private final ApplicationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final JobExecutorMonitor jobExecutorMonitor;
+    private final JobDefinitionCache jobDefinitions;
+    private final SchedulerNode schedulerNode;
+    private final SchedulerMembership membership;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
 
     
     /**
      * Scheduled method that runs every second to check for jobs that need to be executed
-     * Uses distributed locking with SKIP LOCKED to ensure only one instance processes each job
+     * Only scans the job shards this instance owns, and uses leases to ensure only one instance
+     * processes each job
+     * Only active in polling mode; in wheel mode jobs are fired by the TimingWheelDispatcher
+     *
+     * Due jobs are claimed in bounded batches, oldest first. Each batch is leased by a single UPDATE,
+     * then dispatched in its own transaction without holding row locks while it is processed.
+     * The tick keeps claiming until the backlog drains or the tick budget runs out.
+     * Jobs due within the lookahead window are claimed as well, and their executions released at
+     * their exact scheduled time rather than on the first tick after it.
+     * No more jobs are claimed than the executor can accept; due jobs beyond that stay unclaimed
+     * and are picked up by a later tick, instead of being rejected after their run was recorded.
      */
     @Scheduled(fixedRate = 1000)
-    @Transactional
     public void scheduleJobs() {
+        if (properties.getScheduler().getMode() != ApplicationProperties.Scheduler.Mode.POLLING) {
+            return;
+        }
+        Timer.Sample tick = Timer.start(meterRegistry);
+        int claimed = 0;
         try {
-            ZonedDateTime now = ZonedDateTime.now(ZoneId.of("Asia/Kolkata"));
-            
-            // This query uses pessimistic locking with SKIP LOCKED
-            // Only one instance will be able to lock and process each job
-            List<Job> jobsToExecute = jobRepository.findJobsForExecution(now);
-            
-            if (jobsToExecute.isEmpty()) {
+            ZonedDateTime now = ZonedDateTime.now(clock);
+            ZonedDateTime until = now.plus(Duration.ofMillis(properties.getScheduler().getClaim().getLookaheadMs()));
+            List<Integer> shards = membership.ownedShards();
+            if (shards.isEmpty()) {
                 return;
             }
+            long deadline = System.currentTimeMillis() + properties.getScheduler().getClaim().getTickBudgetMs();
             
-            log.debug("Found {} jobs ready for execution", jobsToExecute.size());
-            
-            for (Job job : jobsToExecute) {
-                try {
-                    String executionId = processJob(job);
-                    // Use TransactionSynchronization to ensure 'executeAsync' is called ONLY after commit.
-                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                        @Override
-                        public void afterCommit() {
-                            // Execute the job asynchronously
-                            jobExecutionService.execute(executionId);
-                        }
-                    });
-                    log.info("Job {} scheduled for execution with execution ID: {}", job.getId(), executionId);
-
-                } catch (Exception e) {
-                    log.error("Error processing job {}: {}", job.getId(), e.getMessage(), e);
+            while (true) {
+                int batchSize = Math.min(nextBatchSize(), admissibleJobs());
+                if (batchSize <= 0) {
+                    saturatedCounter("polling").increment();
+                    log.debug("Job executor full after claiming {} jobs, remaining due jobs deferred to next tick", claimed);
+                    break;
+                }
+                
+                // Only one instance will be able to lease each job; the lease is taken in its own
+                // statement, so row locks are held for the UPDATE only, whatever the batch size
+                String leaseToken = TimeOrderedIds.next();
+                int leased = jobRepository.leaseDueJobs(shards, schedulerNode.getId(), UuidBinaryJavaType.toBytes(leaseToken),
+                    leaseUntil(now), now, until, batchSize);
+                if (leased > 0) {
+                    List<ExecutionContext> executions = transactionTemplate.execute(status ->
+                        dispatch(jobRepository.findByLeaseToken(leaseToken)));
+                    
+                    // Executions are released only once their batch has committed
+                    executions.forEach(execution -> executionReleaser.release(execution, "polling"));
+                    claimed += executions.size();
                 }
+                
+                if (leased < batchSize) {
+                    break;
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    log.warn("Tick budget exhausted after claiming {} jobs, remaining backlog deferred to next tick", claimed);
+                    break;
+                }
+            }
+            
+            if (claimed > 0) {
+                log.debug("Claimed {} jobs for execution", claimed);
             }
             
         } catch (Exception e) {
             log.error("Error in job scheduling: {}", e.getMessage(), e);
+        } finally {
+            recordTick("polling", tick, claimed);
+        }
+    }
+
+    /**
+     * Claims the given jobs if they are still active, due within the lookahead window and not leased
+     * elsewhere, then dispatches them. Executions of jobs not yet due are parked and released at their
+     * exact scheduled time, as in polling mode.
+     * Used by the timing wheel, which only knows fire times and relies on the lease for ownership.
+     * Jobs beyond what the executor can accept are not claimed; they stay due and are loaded
+     * again by the next refill of the wheel.
+     * @return the claimed jobs, carrying their advanced next execution times
+     */
+    public List<Job> dispatchJobs(Collection<String> jobIds, ZonedDateTime now) {
+        Timer.Sample tick = Timer.start(meterRegistry);
+        List<Job> claimedJobs = new ArrayList<>();
+        try {
+            int admissible = admissibleJobs();
+            if (admissible < jobIds.size()) {
+                saturatedCounter("wheel").increment();
+                log.debug("Job executor full, deferring {} of {} due jobs", jobIds.size() - admissible, jobIds.size());
+                jobIds = jobIds.stream().limit(admissible).toList();
+            }
+            String leaseToken = TimeOrderedIds.next();
+            List<Integer> shards = membership.ownedShards();
+            ZonedDateTime until = now.plus(Duration.ofMillis(properties.getScheduler().getClaim().getLookaheadMs()));
+            if (jobIds.isEmpty() || shards.isEmpty()
+                    || jobRepository.leaseJobs(jobIds, shards, schedulerNode.getId(), leaseToken, leaseUntil(now), now, until) == 0) {
+                return claimedJobs;
+            }
+            List<ExecutionContext> executions = transactionTemplate.execute(status -> {
+                claimedJobs.addAll(jobRepository.findByLeaseToken(leaseToken));
+                return dispatch(claimedJobs);
+            });
+            executions.forEach(execution -> executionReleaser.release(execution, "wheel"));
+            return claimedJobs;
+        } finally {
+            recordTick("wheel", tick, claimedJobs.size());
+        }
+    }
+
+    private ZonedDateTime leaseUntil(ZonedDateTime now) {
+        return now.plus(Duration.ofMillis(properties.getScheduler().getClaim().getLeaseMs()));
+    }
+
+    /**
+     * Records how long a claim took and how many jobs it claimed, per scheduler mode.
+     */
+    private void recordTick(String mode, Timer.Sample tick, int claimed) {
+        tick.stop(Timer.builder("scheduler.tick.duration")
+            .description("Time spent claiming and dispatching due jobs")
+            .tag("mode", mode)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+        DistributionSummary.builder("scheduler.tick.claimed")
+            .description("Jobs claimed per claim")
+            .tag("mode", mode)
+            .register(meterRegistry)
+            .record(claimed);
+    }
+
+    /**
+     * Configured batch size, scaled down linearly once the executor queue fills past the high watermark.
+     */
+    int nextBatchSize() {
+        ApplicationProperties.Scheduler.Claim claim = properties.getScheduler().getClaim();
+        double fill = jobExecutorMonitor.queueFillRatio();
+        if (fill <= claim.getQueueHighWatermark()) {
+            return claim.getBatchSize();
+        }
+        double headroom = (1.0 - fill) / (1.0 - claim.getQueueHighWatermark());
+        return Math.max(claim.getMinBatchSize(), (int) (claim.getBatchSize() * headroom));
+    }
+
+    /**
+     * How many more jobs can be claimed without the executor rejecting their executions: its remaining
+     * capacity, less the executions already claimed and parked until their scheduled time.
+     */
+    int admissibleJobs() {
+        long admissible = (long) jobExecutorMonitor.remainingCapacity() - executionReleaser.parkedCount();
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, admissible));
+    }
+
+    private Counter saturatedCounter(String mode) {
+        return Counter.builder("scheduler.claim.saturated")
+            .description("Claims cut short because the jobExecutor could not accept more executions")
+            .tag("mode", mode)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Creates one PENDING execution per job and advances every job's next execution time.
+     * All rows are written with one saveAll per table so Hibernate can flush them as JDBC batches.
+     * Jobs sharing a schedule share one next-fire computation per batch.
+     * Each claimed job refreshes its cached definition, which the returned contexts are built from.
+     * Dispatched jobs have their lease released; a job that failed to dispatch keeps it until it
+     * expires, and is claimed again after that.
+     */
+    private List<ExecutionContext> dispatch(List<Job> jobs) {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        Map<NextFire, ZonedDateTime> nextExecutionTimes = new HashMap<>();
+        List<JobExecution> executions = new ArrayList<>(jobs.size());
+        List<ExecutionContext> contexts = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            try {
+                JobExecution execution = processJob(job, now, nextExecutionTimes);
+                executions.add(execution);
+                contexts.add(ExecutionContext.of(jobDefinitions.put(job), execution));
+                releaseLease(job);
+                log.info("Job {} scheduled for execution with execution ID: {}", job.getId(), execution.getId());
+
+            } catch (Exception e) {
+                log.error("Error processing job {}: {}", job.getId(), e.getMessage(), e);
+            }
         }
+        if (executions.isEmpty()) {
+            return List.of();
+        }
+        jobExecutionRepository.saveAll(executions);
+        jobRepository.saveAll(jobs);
+        return contexts;
+    }
+
+    private static void releaseLease(Job job) {
+        job.setLeaseOwner(null);
+        job.setLeaseToken(null);
+        job.setLeaseUntil(null);
     }
 
-    private String processJob(Job job) {
+    private JobExecution processJob(Job job, ZonedDateTime now, Map<NextFire, ZonedDateTime> nextExecutionTimes) {
         log.debug("Processing job: {}", job.getId());
         
-        // Create a new job execution record
+        // Create a new job execution record, scheduled for the time the job was due
         JobExecution execution = JobExecution.builder()
-            .id(UUID.randomUUID().toString())
+            .id(TimeOrderedIds.next())
             .jobId(job.getId())
             .status(ExecutionStatus.PENDING)
-            .scheduledTime(ZonedDateTime.now())
+            .scheduledTime(job.getNextExecutionTime() != null ? job.getNextExecutionTime() : now)
             .build();
         
-        jobExecutionRepository.save(execution);
-        
-        // Calculate next execution time and update job
+        // Calculate next execution time and update job. A job claimed ahead of its due time
+        // fires next after that time, not after now, or it would be claimed again for the same fire
+        ZonedDateTime after = job.getNextExecutionTime() != null && job.getNextExecutionTime().isAfter(now)
+            ? job.getNextExecutionTime() : now;
+        // Jobs with a spread window fire at their offset after each cron time, as computed by
+        // CronService.getNextExecutionTime(schedule, after, offset); jobs without one share the cron time
+        Duration offset = CronService.spreadOffset(job.getId(), job.getSpreadWindowSeconds());
         try {
-            ZonedDateTime nextExecutionTime = cronService.getNextExecutionTime(
-                job.getSchedule(), 
-                ZonedDateTime.now()
-            );
+            ZonedDateTime nextExecutionTime = nextExecutionTimes.computeIfAbsent(
+                new NextFire(CronService.normalize(job.getSchedule()), after.minus(offset)),
+                key -> cronService.getNextExecutionTime(key.schedule(), key.after())
+            ).plus(offset);
             job.setNextExecutionTime(nextExecutionTime);
-            jobRepository.save(job);
             
             log.debug("Updated next execution time for job {}: {}", job.getId(), nextExecutionTime);
         } catch (Exception e) {
             log.error("Error calculating next execution time for job {}: {}", job.getId(), e.getMessage());
             // Disable the job if cron expression is invalid
             job.setIsActive(false);
-            jobRepository.save(job);
         }
-        return execution.getId();
+        return execution;
+    }
+
+    private record NextFire(String schedule, ZonedDateTime after) {
     }
 }
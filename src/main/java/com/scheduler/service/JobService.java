@@ -7,11 +7,13 @@ import com.scheduler.entity.ExecutionStatus;
 import com.scheduler.entity.ExecutionType;
 import com.scheduler.entity.Job;
 import com.scheduler.entity.JobExecution;
+import com.scheduler.entity.TimeOrderedIds;
 import com.scheduler.exception.JobNotFoundException;
 import com.scheduler.repository.JobRepository;
 import com.scheduler.repository.JobExecutionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,10 +21,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.ZoneId;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,6 +35,8 @@ public class JobService {
     private final JobRepository jobRepository;
     private final JobExecutionRepository jobExecutionRepository;
     private final CronService cronService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
 
     @Transactional
     public JobCreatedResponse createJob(JobSpec jobSpec) {
@@ -48,25 +52,30 @@ public class JobService {
                     ". Must be either ATLEAST_ONCE or ATMOST_ONCE");
         }
 
-        // Validate and calculate next execution time
+        // Validate and calculate next execution time, offset within the job's spread window
+        String jobId = TimeOrderedIds.next();
+        Duration spreadOffset = CronService.spreadOffset(jobId, jobSpec.spreadWindowSeconds());
         ZonedDateTime nextExecutionTime;
         try {
-            nextExecutionTime = cronService.getNextExecutionTime(jobSpec.schedule(), ZonedDateTime.now(ZoneId.of("Asia/Kolkata")));
+            nextExecutionTime = cronService.getNextExecutionTime(jobSpec.schedule(), ZonedDateTime.now(clock), spreadOffset);
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid CRON expression: " + e.getMessage(), e);
         }
 
         // Create job
         Job job = Job.builder()
-                .id(UUID.randomUUID().toString())
+                .id(jobId)
                 .schedule(jobSpec.schedule())
                 .apiUrl(jobSpec.apiUrl())
                 .executionType(executionType)
                 .isActive(true)
+                .hostConcurrencyLimit(jobSpec.hostConcurrencyLimit())
+                .spreadWindowSeconds(jobSpec.spreadWindowSeconds())
                 .nextExecutionTime(nextExecutionTime)
                 .build();
 
         job = jobRepository.save(job);
+        eventPublisher.publishEvent(new JobScheduledEvent(job));
 
         log.info("Successfully created job with ID: {} and next execution at: {}",
                 job.getId(), job.getNextExecutionTime());
@@ -87,7 +96,8 @@ public class JobService {
         Sort sort = Sort.by(Sort.Direction.DESC, "createdAt");
         Pageable pageable = PageRequest.of(currentPage, pageSize, sort);
 
-        boolean jobExists = jobRepository.existsById(jobId);
+        // Ids are stored as binary UUIDs, so anything else cannot be a job
+        boolean jobExists = TimeOrderedIds.isValid(jobId) && jobRepository.existsById(jobId);
 
         if (jobExists == false) {
             throw new JobNotFoundException("Job not found with ID: non-existent");
@@ -102,7 +112,7 @@ public class JobService {
                 .collect(Collectors.toList());
     }
 
-    private JobExecutionResponse mapToResponse(JobExecution execution) {
+    JobExecutionResponse mapToResponse(JobExecution execution) {
         return new JobExecutionResponse(
                 execution.getId(),
                 execution.getStatus().name(),
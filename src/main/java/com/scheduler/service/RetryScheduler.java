@@ -0,0 +1,122 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retry backoff policy plus an in-memory delay queue of retries due within the horizon.
+ * The queue only holds a bounded, near-term slice; next_retry_at in job_executions stays the
+ * source of truth and is swept periodically, so nothing is lost if an entry is not queued.
+ */
+@Component
+@RequiredArgsConstructor
+public class RetryScheduler {
+
+    private final ApplicationProperties properties;
+    private final Clock clock;
+
+    private final DelayQueue<QueuedRetry> queue = new DelayQueue<>();
+    // Execution ids currently in the queue, so sweeps do not enqueue them twice
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    public long calculateRetryDelay(int retryCount) {
+        ApplicationProperties.Job.Retry retry = properties.getJob().getRetry();
+        return (long) (retry.getInitialDelayMs() * Math.pow(retry.getMultiplier(), retryCount));
+    }
+
+    /**
+     * @return when an execution that failed at failedAt should be retried, or null if it is out of attempts
+     */
+    public ZonedDateTime nextRetryAt(int retryCount, ZonedDateTime failedAt) {
+        if (retryCount >= properties.getJob().getRetry().getMaxAttempts()) {
+            return null;
+        }
+        return failedAt.plusNanos(calculateRetryDelay(retryCount) * 1_000_000);
+    }
+
+    /**
+     * Queues a retry if it is due within the horizon and the queue has room.
+     * @return false if it was left for a later sweep of next_retry_at
+     */
+    public boolean schedule(String executionId, String jobId, int retryCount, ZonedDateTime nextRetryAt) {
+        long dueAtMs = nextRetryAt.toInstant().toEpochMilli();
+        long horizonMs = clock.millis() + TimeUnit.SECONDS.toMillis(properties.getJob().getRetry().getHorizonSeconds());
+        if (dueAtMs > horizonMs || queued.size() >= properties.getJob().getRetry().getQueueCapacity()
+                || !queued.add(executionId)) {
+            return false;
+        }
+        queue.put(new QueuedRetry(new DueRetry(executionId, jobId, retryCount, dueAtMs), clock));
+        return true;
+    }
+
+    /**
+     * Blocks until at least one retry is due, then returns up to max due retries.
+     */
+    public List<DueRetry> takeDue(int max) throws InterruptedException {
+        List<QueuedRetry> taken = new ArrayList<>();
+        taken.add(queue.take());
+        queue.drainTo(taken, max - 1);
+        List<DueRetry> due = taken.stream().map(QueuedRetry::retry).toList();
+        due.forEach(retry -> queued.remove(retry.executionId()));
+        return due;
+    }
+
+    /**
+     * Returns up to max retries that are due by the clock, without waiting.
+     * For callers that drive time themselves, such as simulations.
+     */
+    public List<DueRetry> pollDue(int max) {
+        List<DueRetry> due = new ArrayList<>();
+        synchronized (queue) {
+            QueuedRetry next;
+            while (due.size() < max && (next = queue.peek()) != null && next.retry().dueAtMs() <= clock.millis()) {
+                queue.remove(next);
+                due.add(next.retry());
+            }
+        }
+        due.forEach(retry -> queued.remove(retry.executionId()));
+        return due;
+    }
+
+    /**
+     * @return when the earliest queued retry is due, in epoch millis, or Long.MAX_VALUE if none is queued
+     */
+    public long nextDueAtMs() {
+        QueuedRetry next = queue.peek();
+        return next == null ? Long.MAX_VALUE : next.retry().dueAtMs();
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public record DueRetry(String executionId, String jobId, int retryCount, long dueAtMs) {
+    }
+
+    /**
+     * A queued retry, due by the scheduler's clock rather than the system clock.
+     */
+    private record QueuedRetry(DueRetry retry, Clock clock) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(retry.dueAtMs() - clock.millis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(retry.dueAtMs(), ((QueuedRetry) other).retry.dueAtMs());
+        }
+    }
+}
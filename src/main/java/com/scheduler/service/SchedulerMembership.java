@@ -0,0 +1,105 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.entity.JobShards;
+import com.scheduler.repository.SchedulerNodeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks the live scheduler nodes through the scheduler_nodes table and works out which job shards
+ * this node owns. Every node heartbeats its row, reads the nodes heard from within the node timeout
+ * and places them on a consistent-hash ring, so shards move to the remaining nodes when a node stops
+ * heartbeating and are handed over when one joins. Nodes may briefly disagree while a change
+ * propagates; job leases keep a shard scanned by two nodes from firing a job twice.
+ * Until the first heartbeat, or when the table cannot be read, the last known assignment is kept,
+ * which at startup is every shard.
+ */
+@Service
+@Slf4j
+public class SchedulerMembership {
+
+    private final SchedulerNodeRepository nodeRepository;
+    private final SchedulerNode schedulerNode;
+    private final ApplicationProperties properties;
+    private final Clock clock;
+
+    private volatile List<String> liveNodes = List.of();
+    private volatile List<Integer> ownedShards = JobShards.ALL;
+
+    public SchedulerMembership(SchedulerNodeRepository nodeRepository, SchedulerNode schedulerNode,
+                               ApplicationProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this.nodeRepository = nodeRepository;
+        this.schedulerNode = schedulerNode;
+        this.properties = properties;
+        this.clock = clock;
+        Gauge.builder("scheduler.nodes.live", this, membership -> membership.liveNodes.size())
+            .description("Scheduler nodes currently heartbeating")
+            .register(meterRegistry);
+        Gauge.builder("scheduler.shards.owned", this, membership -> membership.ownedShards.size())
+            .description("Job shards scanned by this node")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedRateString = "${app.scheduler.membership.heartbeat-interval-ms:5000}")
+    public void heartbeat() {
+        try {
+            ApplicationProperties.Scheduler.Membership membership = properties.getScheduler().getMembership();
+            ZonedDateTime now = ZonedDateTime.now(clock);
+            Duration nodeTimeout = Duration.ofMillis(membership.getNodeTimeoutMs());
+            nodeRepository.heartbeat(schedulerNode.getId(), now);
+            // Rows of nodes gone for good are removed so the table does not grow with every restart
+            nodeRepository.deleteNodesSilentSince(now.minus(nodeTimeout.multipliedBy(10)));
+            rebalance(nodeRepository.findLiveNodeIds(now.minus(nodeTimeout)));
+
+        } catch (Exception e) {
+            log.error("Error refreshing scheduler membership, keeping {} shards: {}", ownedShards.size(), e.getMessage(), e);
+        }
+    }
+
+    void rebalance(List<String> nodes) {
+        List<String> members = new ArrayList<>(nodes);
+        if (!members.contains(schedulerNode.getId())) {
+            members.add(schedulerNode.getId());
+        }
+        members.sort(null);
+        if (members.equals(liveNodes)) {
+            return;
+        }
+        ConsistentHashRing ring = new ConsistentHashRing(members, properties.getScheduler().getMembership().getVirtualNodes());
+        ownedShards = List.copyOf(ring.shardsOf(schedulerNode.getId(), JobShards.COUNT));
+        liveNodes = List.copyOf(members);
+        log.info("Scheduler nodes changed to {}, this node now owns {} of {} shards",
+            members, ownedShards.size(), JobShards.COUNT);
+    }
+
+    /**
+     * Shards whose jobs this node scans and dispatches.
+     */
+    public List<Integer> ownedShards() {
+        return ownedShards;
+    }
+
+    /**
+     * Leaves the ring on shutdown, so the other nodes take over its shards on their next heartbeat
+     * instead of after the node timeout.
+     */
+    @PreDestroy
+    public void leave() {
+        try {
+            nodeRepository.delete(schedulerNode.getId());
+        } catch (Exception e) {
+            log.warn("Could not remove node {} from scheduler_nodes: {}", schedulerNode.getId(), e.getMessage());
+        }
+    }
+}
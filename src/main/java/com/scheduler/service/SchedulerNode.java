@@ -0,0 +1,36 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * Identity of this scheduler instance, recorded as the owner of the executions it runs.
+ * Taken from app.scheduler.node-id, or generated from the host name when not configured.
+ */
+@Component
+public class SchedulerNode {
+
+    private final String id;
+
+    public SchedulerNode(ApplicationProperties properties) {
+        String configured = properties.getScheduler().getNodeId();
+        this.id = configured != null && !configured.isBlank() ? configured : generateId();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    private static String generateId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,194 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.entity.Job;
+import com.scheduler.repository.JobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires jobs at their exact nextExecutionTime from an in-memory hierarchical timing wheel.
+ * The jobs table is only read to refill the wheel with upcoming fire times of the shards this
+ * instance owns, and leased app.scheduler.claim.lookahead-ms ahead of the fire time to claim
+ * ownership; the claimed execution is then released at the fire time itself. Jobs of shards moved to another node
+ * are dropped when they fail to lease; jobs of shards gained are loaded by the next refill.
+ * Jobs created on this instance are armed as soon as their transaction commits.
+ * Inactive unless app.scheduler.mode=wheel.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimingWheelDispatcher {
+
+    private final JobRepository jobRepository;
+    private final JobSchedulingService jobSchedulingService;
+    private final SchedulerMembership membership;
+    private final ApplicationProperties properties;
+    private final Clock clock;
+
+    // Fire time currently held in the wheel per job; wheel entries that no longer match are stale
+    private final Map<String, Long> scheduledFireTimes = new ConcurrentHashMap<>();
+    private HierarchicalTimingWheel<String> wheel;
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        ApplicationProperties.Scheduler.Wheel config = properties.getScheduler().getWheel();
+        wheel = new HierarchicalTimingWheel<>(config.getTickMs(), config.getWheelSize(), clock.millis());
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TimingWheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, config.getTickMs(), config.getTickMs(), TimeUnit.MILLISECONDS);
+        log.info("Timing wheel dispatcher started with {} ms ticks", config.getTickMs());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Loads every active job of the owned shards due within the horizon into the wheel.
+     * Overdue jobs (e.g. after a restart) are fired on the next tick.
+     */
+    @Scheduled(fixedRateString = "${app.scheduler.wheel.refill-interval-ms:10000}")
+    public void refill() {
+        if (!isEnabled() || wheel == null) {
+            return;
+        }
+        try {
+            ZonedDateTime until = ZonedDateTime.now(clock)
+                .plusSeconds(properties.getScheduler().getWheel().getHorizonSeconds());
+            List<Integer> shards = membership.ownedShards();
+            if (shards.isEmpty()) {
+                return;
+            }
+            List<Job> upcomingJobs = jobRepository.findUpcomingJobs(shards, until);
+            upcomingJobs.forEach(this::schedule);
+            log.debug("Refilled timing wheel with {} upcoming jobs", upcomingJobs.size());
+        } catch (Exception e) {
+            log.error("Error refilling timing wheel: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Arms a job whose next execution time was just set, once its transaction has committed.
+     * The committed time replaces whatever the wheel held for the job. Jobs of shards owned by
+     * another instance, or due beyond the horizon, are left to the refill.
+     */
+    @TransactionalEventListener
+    public void onJobScheduled(JobScheduledEvent event) {
+        Job job = event.job();
+        if (!isEnabled() || wheel == null || !Boolean.TRUE.equals(job.getIsActive()) || job.getNextExecutionTime() == null) {
+            return;
+        }
+        long fireTimeMs = job.getNextExecutionTime().toInstant().toEpochMilli();
+        long horizonMs = clock.millis() + TimeUnit.SECONDS.toMillis(properties.getScheduler().getWheel().getHorizonSeconds());
+        if (fireTimeMs > horizonMs || !membership.ownedShards().contains(job.getShardId())) {
+            return;
+        }
+        Long previous = scheduledFireTimes.put(job.getId(), fireTimeMs);
+        if (previous == null || previous != fireTimeMs) {
+            arm(job.getId(), fireTimeMs);
+        }
+    }
+
+    /**
+     * Holds the job's fire time in the wheel, unless a later one is already held: a refill may have
+     * read the row before a dispatch committed its next fire time, and must not bring back the old one.
+     */
+    void schedule(Job job) {
+        long fireTimeMs = job.getNextExecutionTime().toInstant().toEpochMilli();
+        boolean[] advanced = new boolean[1];
+        scheduledFireTimes.compute(job.getId(), (id, previous) -> {
+            if (previous != null && previous >= fireTimeMs) {
+                return previous;
+            }
+            advanced[0] = true;
+            return fireTimeMs;
+        });
+        if (advanced[0]) {
+            arm(job.getId(), fireTimeMs);
+        }
+    }
+
+    private void arm(String jobId, long fireTimeMs) {
+        synchronized (this) {
+            if (!wheel.add(jobId, claimTimeMs(fireTimeMs))) {
+                // Already due: park it in the current slot so the next tick fires it
+                wheel.add(jobId, wheel.currentTimeMs() + 1);
+            }
+        }
+    }
+
+    void tick() {
+        try {
+            long nowMs = clock.millis();
+            List<String> expired;
+            synchronized (this) {
+                expired = wheel.advanceTo(nowMs);
+            }
+            if (expired.isEmpty()) {
+                return;
+            }
+
+            List<String> dueJobIds = new ArrayList<>(expired.size());
+            for (String jobId : expired) {
+                Long fireTimeMs = scheduledFireTimes.get(jobId);
+                if (fireTimeMs != null && claimTimeMs(fireTimeMs) <= nowMs && scheduledFireTimes.remove(jobId, fireTimeMs)) {
+                    dueJobIds.add(jobId);
+                }
+            }
+            if (dueJobIds.isEmpty()) {
+                return;
+            }
+
+            ZonedDateTime now = ZonedDateTime.ofInstant(Instant.ofEpochMilli(nowMs), clock.getZone());
+            List<Job> claimedJobs = jobSchedulingService.dispatchJobs(dueJobIds, now);
+            log.debug("Timing wheel fired {} jobs, {} claimed by this instance", dueJobIds.size(), claimedJobs.size());
+
+            // Re-arm jobs whose next fire time already falls inside the horizon
+            long horizonMs = nowMs + TimeUnit.SECONDS.toMillis(properties.getScheduler().getWheel().getHorizonSeconds());
+            for (Job job : claimedJobs) {
+                if (Boolean.TRUE.equals(job.getIsActive()) && job.getNextExecutionTime() != null
+                        && job.getNextExecutionTime().toInstant().toEpochMilli() <= horizonMs) {
+                    schedule(job);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error firing timing wheel jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    // Jobs are claimed this far ahead of their fire time and parked until it
+    private long claimTimeMs(long fireTimeMs) {
+        return fireTimeMs - properties.getScheduler().getClaim().getLookaheadMs();
+    }
+
+    private boolean isEnabled() {
+        return properties.getScheduler().getMode() == ApplicationProperties.Scheduler.Mode.WHEEL;
+    }
+}
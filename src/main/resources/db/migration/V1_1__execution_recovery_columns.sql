@@ -0,0 +1,18 @@
+-- Columns and indexes added before the schema was managed by Flyway: per-job host concurrency limits,
+-- stored retry times of failed executions, and heartbeats of running executions.
+-- Databases baselined at V1 were created without them.
+
+alter table `jobs` add column `host_concurrency_limit` integer;
+
+alter table `job_executions` add column `next_retry_at` datetime(6);
+alter table `job_executions` add column `superseded` bit default false;
+alter table `job_executions` add column `owner_node_id` varchar(255);
+alter table `job_executions` add column `last_heartbeat_at` datetime(6);
+
+-- Due retries: WHERE next_retry_at <= ? AND superseded = false ORDER BY next_retry_at
+create index idx_job_executions_next_retry_at
+    on `job_executions` (`next_retry_at`);
+
+-- Stale detection: WHERE status = 'RUNNING' AND last_heartbeat_at < ?
+create index idx_job_executions_status_heartbeat
+    on `job_executions` (`status`, `last_heartbeat_at`);
@@ -0,0 +1,29 @@
+-- Schema as previously created by hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+create table `jobs` (
+    `is_active` bit not null,
+    `created_at` datetime(6),
+    `next_execution_time` datetime(6),
+    `updated_at` datetime(6),
+    `api_url` varchar(255) not null,
+    `id` varchar(255) not null,
+    `schedule` varchar(255) not null,
+    `execution_type` enum ('ATLEAST_ONCE','ATMOST_ONCE') not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+create table `job_executions` (
+    `retry_count` integer,
+    `status_code` integer,
+    `completed_at` datetime(6),
+    `created_at` datetime(6),
+    `duration_ms` bigint,
+    `scheduled_time` datetime(6) not null,
+    `started_at` datetime(6),
+    `updated_at` datetime(6),
+    `id` varchar(255) not null,
+    `job_id` varchar(255) not null,
+    `status` enum ('FAILED','PENDING','RUNNING','SUCCESS') not null,
+    primary key (`id`)
+) engine=InnoDB;
@@ -0,0 +1,7 @@
+-- Due-job claim: WHERE is_active = true AND next_execution_time <= ? ORDER BY next_execution_time
+create index idx_jobs_active_next_execution
+    on `jobs` (`is_active`, `next_execution_time`);
+
+-- Execution history: WHERE job_id = ? ORDER BY created_at DESC
+create index idx_job_executions_job_created
+    on `job_executions` (`job_id`, `created_at`);
@@ -0,0 +1,7 @@
+-- Lease-based claim: a node owns the jobs it claimed until lease_until, and loads them by lease_token
+alter table `jobs` add column `lease_owner` varchar(255);
+alter table `jobs` add column `lease_until` datetime(6);
+alter table `jobs` add column `lease_token` binary(16);
+
+create index idx_jobs_lease_token
+    on `jobs` (`lease_token`);
@@ -0,0 +1,13 @@
+-- Jobs are split into 256 shards (JobShards), which the live scheduler nodes divide between them
+alter table `jobs` add column `shard_id` integer not null default 0;
+
+-- Sharded claim: WHERE shard_id IN (...) AND is_active = true AND next_execution_time <= ?
+create index idx_jobs_shard_active_next_execution
+    on `jobs` (`shard_id`, `is_active`, `next_execution_time`);
+
+create table `scheduler_nodes` (
+    `node_id` varchar(255) not null,
+    `started_at` datetime(6) not null,
+    `last_heartbeat_at` datetime(6) not null,
+    primary key (`node_id`)
+) engine=InnoDB;
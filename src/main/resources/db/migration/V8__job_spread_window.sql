@@ -0,0 +1,2 @@
+-- Opt-in window over which a job's fires are spread at a fixed per-job offset
+alter table `jobs` add column `spread_window_seconds` integer;
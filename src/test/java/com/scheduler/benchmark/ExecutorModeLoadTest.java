@@ -0,0 +1,99 @@
+package com.scheduler.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.config.HttpClientConfig;
+import com.scheduler.config.RestTemplateConfig;
+import com.scheduler.config.VirtualThreadJobExecutor;
+import com.scheduler.service.ApiClientService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires a burst of slow webhooks through each jobExecutor mode and reports how many calls
+ * were in flight at once, how long the burst took, and peak JVM threads and heap.
+ * Run with: mvn test -Dtest=ExecutorModeLoadTest -Dbenchmark=true (virtual mode needs Java 21)
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExecutorModeLoadTest {
+
+    private static final int CALLS = 2_000;
+    private static final Duration WEBHOOK_LATENCY = Duration.ofSeconds(2);
+
+    @Test
+    void platformThreadPool() throws Exception {
+        // Same settings as application.properties
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(50);
+        executor.setMaxPoolSize(200);
+        executor.setQueueCapacity(10000);
+        executor.setThreadNamePrefix("JobExecutor-");
+        executor.initialize();
+        try {
+            run("platform", executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void virtualThreads() throws Exception {
+        run("virtual", new VirtualThreadJobExecutor("JobExecutor-", 2000, 10000));
+    }
+
+    private void run(String mode, Executor executor) throws Exception {
+        ApiClientService apiClientService = new ApiClientService(new RestTemplateConfig().restTemplate(),
+            new HttpClientConfig().jobHttpClient(), new ObjectMapper(), new ApplicationProperties(),
+            new SimpleMeterRegistry());
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+        int baselineThreads = threads.getThreadCount();
+
+        try (StubWebhookServer webhook = new StubWebhookServer(WEBHOOK_LATENCY, 0.0)) {
+            CountDownLatch done = new CountDownLatch(CALLS);
+            long start = System.nanoTime();
+            for (int i = 0; i < CALLS; i++) {
+                String executionId = "execution-" + i;
+                executor.execute(() -> {
+                    try {
+                        apiClientService.executeApiCall(webhook.url("/hook"), HttpMethod.GET, executionId, null);
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+
+            int peakThreads = 0;
+            long peakHeap = 0;
+            while (!done.await(100, TimeUnit.MILLISECONDS)) {
+                peakThreads = Math.max(peakThreads, threads.getThreadCount() - webhook.handlerThreads());
+                peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("%-9s calls=%d latency=%ds max-in-flight=%d elapsed=%dms throughput=%.0f/s "
+                    + "peak-client-threads=+%d peak-heap=+%dMB%n",
+                mode, CALLS, WEBHOOK_LATENCY.toSeconds(), webhook.maxInFlight(), elapsedMs,
+                CALLS * 1000.0 / elapsedMs, peakThreads - baselineThreads, (peakHeap - baselineHeap) >> 20);
+            assertThat(webhook.requests()).isEqualTo(CALLS);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.scheduler.benchmark;
+
+import com.scheduler.entity.TimeOrderedIds;
+import com.scheduler.entity.UuidBinaryJavaType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares insert throughput into a job_executions-shaped table keyed by random UUID strings
+ * (VARCHAR(36)) with one keyed by UUIDv7 (BINARY(16)), both with a secondary index on job_id.
+ * Page splits from random keys only show once the table outgrows the buffer pool, so point it at
+ * MySQL for meaningful numbers; the default is embedded H2.
+ * Run with: mvn test -Dtest=IdInsertBenchmark -Dbenchmark=true [-Dids.rows=1000000]
+ * [-Dids.jdbc-url=jdbc:mysql://localhost:3306/job_scheduler -Dids.jdbc-user=root -Dids.jdbc-password=...]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class IdInsertBenchmark {
+
+    private static final String URL = System.getProperty("ids.jdbc-url",
+        "jdbc:h2:mem:id-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+    private static final String USER = System.getProperty("ids.jdbc-user", "sa");
+    private static final String PASSWORD = System.getProperty("ids.jdbc-password", "");
+    private static final int ROWS = Integer.getInteger("ids.rows", 200_000);
+    private static final int BATCH_SIZE = 1_000;
+    private static final int JOBS = 1_000;
+
+    @Test
+    void insertThroughput() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD)) {
+            connection.setAutoCommit(false);
+            List<String> report = new ArrayList<>();
+            report.add(String.format("%-22s %-10s %-12s %-14s %-14s", "key", "rows", "rows/s", "data bytes", "index bytes"));
+            report.add(run(connection, "ids_random_text", "varchar(36)", false));
+            report.add(run(connection, "ids_v7_binary", "binary(16)", true));
+            System.out.println(String.join(System.lineSeparator(), report));
+        }
+    }
+
+    private String run(Connection connection, String table, String keyType, boolean timeOrdered) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id " + keyType + " NOT NULL, job_id " + keyType + " NOT NULL, " +
+                "status varchar(16) NOT NULL, created_at datetime(6) NOT NULL, PRIMARY KEY (id))");
+            statement.execute("CREATE INDEX idx_" + table + "_job_created ON " + table + " (job_id, created_at)");
+        }
+        connection.commit();
+
+        List<String> jobIds = new ArrayList<>(JOBS);
+        for (int i = 0; i < JOBS; i++) {
+            jobIds.add(timeOrdered ? TimeOrderedIds.next() : UUID.randomUUID().toString());
+        }
+
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, job_id, status, created_at) VALUES (?, ?, 'PENDING', ?)")) {
+            for (int row = 1; row <= ROWS; row++) {
+                String id = timeOrdered ? TimeOrderedIds.next() : UUID.randomUUID().toString();
+                String jobId = jobIds.get(row % JOBS);
+                if (timeOrdered) {
+                    insert.setBytes(1, UuidBinaryJavaType.toBytes(id));
+                    insert.setBytes(2, UuidBinaryJavaType.toBytes(jobId));
+                } else {
+                    insert.setString(1, id);
+                    insert.setString(2, jobId);
+                }
+                insert.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+                insert.addBatch();
+                if (row % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        try (Statement statement = connection.createStatement();
+             ResultSet count = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            count.next();
+            assertThat(count.getLong(1)).isEqualTo(ROWS);
+        }
+        long[] sizes = sizes(connection, table);
+        return String.format("%-22s %-10d %-12.0f %-14s %-14s", keyType + (timeOrdered ? " v7" : " random"),
+            ROWS, ROWS * 1000.0 / elapsedMs, sizes == null ? "n/a" : sizes[0], sizes == null ? "n/a" : sizes[1]);
+    }
+
+    /**
+     * Data and index size on MySQL, null elsewhere.
+     */
+    private static long[] sizes(Connection connection, String table) throws SQLException {
+        if (!connection.getMetaData().getDatabaseProductName().equals("MySQL")) {
+            return null;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE " + table);
+            try (ResultSet result = statement.executeQuery("SELECT data_length, index_length FROM information_schema.tables " +
+                    "WHERE table_schema = DATABASE() AND table_name = '" + table + "'")) {
+                result.next();
+                return new long[]{result.getLong(1), result.getLong(2)};
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.scheduler.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps the application DataSource and counts JDBC calls that reach the database:
+ * statement executions (a whole JDBC batch counts once), commits and rollbacks.
+ */
+public class RoundTripCountingDataSource implements BeanPostProcessor {
+
+    private static final Set<String> ROUND_TRIP_METHODS = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+        "executeBatch", "executeLargeBatch", "commit", "rollback");
+
+    private final AtomicLong roundTrips = new AtomicLong();
+
+    public long roundTrips() {
+        return roundTrips.get();
+    }
+
+    public void reset() {
+        roundTrips.set(0);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return wrap(DataSource.class, dataSource);
+        }
+        return bean;
+    }
+
+    private <T> T wrap(Class<T> type, T target) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+            (instance, method, args) -> intercept(target, method, args));
+        return type.cast(proxy);
+    }
+
+    private Object intercept(Object target, Method method, Object[] args) throws Throwable {
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+        if (!(target instanceof DataSource) && ROUND_TRIP_METHODS.contains(method.getName())) {
+            roundTrips.incrementAndGet();
+        }
+        if (result instanceof Connection connection) {
+            return wrap(Connection.class, connection);
+        }
+        if (result instanceof CallableStatement statement) {
+            return wrap(CallableStatement.class, statement);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return wrap(PreparedStatement.class, statement);
+        }
+        if (result instanceof Statement statement) {
+            return wrap(Statement.class, statement);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+package com.scheduler.benchmark;
+
+import com.scheduler.controller.JobController;
+import com.scheduler.dto.JobSpec;
+import com.scheduler.entity.ExecutionStatus;
+import com.scheduler.entity.JobExecution;
+import com.scheduler.repository.JobExecutionRepository;
+import com.scheduler.service.JobExecutorMonitor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the whole application with its @Scheduled loops against an embedded H2 database and a local
+ * stub webhook server, registers jobs through JobController.createJob and lets them fire for a while.
+ * Reports dispatch throughput, schedule lag (started_at minus the time the job was due) and the
+ * executor queue depth sampled every second.
+ * Run with: mvn test -Dtest=SchedulerLoadTest -Dbenchmark=true
+ * Tunable with -Dload.jobs, -Dload.schedule, -Dload.duration-seconds, -Dload.latency-ms, -Dload.error-rate,
+ * and any app.* property, e.g. -Dapp.scheduler.mode=polling or -Dapp.executor.mode=virtual.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:load-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.hikari.maximum-pool-size=50",
+    // Schema from the Flyway migrations; H2 reports their enum columns differently from MySQL, so it is not validated
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    // The embedded database has no partitions to maintain
+    "app.job.retention.enabled=false",
+    "logging.level.com.scheduler=WARN"
+})
+class SchedulerLoadTest {
+
+    private static final int JOBS = Integer.getInteger("load.jobs", 2_000);
+    private static final String SCHEDULE = System.getProperty("load.schedule", "*/10 * * * * *");
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load.duration-seconds", 60));
+    private static final Duration WEBHOOK_LATENCY = Duration.ofMillis(Integer.getInteger("load.latency-ms", 50));
+    private static final double ERROR_RATE = Double.parseDouble(System.getProperty("load.error-rate", "0.0"));
+
+    @Autowired
+    private JobController jobController;
+
+    @Autowired
+    private JobExecutionRepository jobExecutionRepository;
+
+    @Autowired
+    private JobExecutorMonitor jobExecutorMonitor;
+
+    @Test
+    void dispatchUnderLoad() throws Exception {
+        try (StubWebhookServer webhook = new StubWebhookServer(WEBHOOK_LATENCY, ERROR_RATE)) {
+            long registrationStart = System.nanoTime();
+            for (int i = 0; i < JOBS; i++) {
+                jobController.createJob(new JobSpec(SCHEDULE, webhook.url("/hook/" + i), "ATLEAST_ONCE"));
+            }
+            long registrationMs = Math.max(1, (System.nanoTime() - registrationStart) / 1_000_000);
+
+            List<String> timeline = new ArrayList<>();
+            timeline.add(String.format("%-6s %-12s %-12s %-12s", "second", "queue depth", "active", "webhooks"));
+            long start = System.nanoTime();
+            for (int second = 1; second <= DURATION.toSeconds(); second++) {
+                Thread.sleep(Math.max(0, start / 1_000_000 + second * 1000L - System.nanoTime() / 1_000_000));
+                timeline.add(String.format("%-6d %-12d %-12d %-12d", second,
+                    jobExecutorMonitor.queueDepth(), jobExecutorMonitor.activeCount(), webhook.requests()));
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            List<JobExecution> executions = jobExecutionRepository.findAll();
+            long[] lagsMs = executions.stream()
+                .filter(execution -> execution.getStartedAt() != null)
+                .mapToLong(execution -> Duration.between(execution.getScheduledTime(), execution.getStartedAt()).toMillis())
+                .sorted()
+                .toArray();
+            long finished = executions.stream()
+                .filter(execution -> execution.getStatus() == ExecutionStatus.SUCCESS
+                    || execution.getStatus() == ExecutionStatus.FAILED)
+                .count();
+
+            System.out.println(String.join(System.lineSeparator(), timeline));
+            System.out.printf("jobs=%d schedule='%s' latency=%dms error-rate=%.2f registration=%.0f jobs/s%n",
+                JOBS, SCHEDULE, WEBHOOK_LATENCY.toMillis(), ERROR_RATE, JOBS * 1000.0 / registrationMs);
+            System.out.printf("executions=%d finished=%d throughput=%.0f jobs/s webhooks=%d errors=%d max-in-flight=%d%n",
+                executions.size(), finished, finished * 1000.0 / elapsedMs,
+                webhook.requests(), webhook.errors(), webhook.maxInFlight());
+            System.out.printf("schedule lag p50=%dms p99=%dms max=%dms%n",
+                percentile(lagsMs, 0.50), percentile(lagsMs, 0.99), lagsMs.length == 0 ? 0 : lagsMs[lagsMs.length - 1]);
+
+            assertThat(lagsMs).isNotEmpty();
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,112 @@
+package com.scheduler.benchmark;
+
+import com.scheduler.entity.ExecutionType;
+import com.scheduler.entity.Job;
+import com.scheduler.entity.TimeOrderedIds;
+import com.scheduler.repository.JobExecutionRepository;
+import com.scheduler.repository.JobRepository;
+import com.scheduler.service.JobExecutionService;
+import com.scheduler.service.JobSchedulingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures JDBC round-trips and wall time of one polling tick that drains 1k and 10k due jobs
+ * against an embedded H2 database. Run with: mvn test -Dtest=SchedulerTickBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:tick-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    // Schema from the Flyway migrations; H2 reports their enum columns differently from MySQL, so it is not validated
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "app.scheduler.enabled=false",
+    "app.scheduler.mode=polling",
+    "app.scheduler.claim.tick-budget-ms=600000",
+    "logging.level.com.scheduler=WARN"
+})
+class SchedulerTickBenchmark {
+
+    @Autowired
+    private JobSchedulingService jobSchedulingService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobExecutionRepository jobExecutionRepository;
+
+    @Autowired
+    private RoundTripCountingDataSource roundTripCounter;
+
+    @MockBean
+    private JobExecutionService jobExecutionService;
+
+    @TestConfiguration
+    static class BenchmarkConfig {
+        @Bean
+        static RoundTripCountingDataSource roundTripCountingDataSource() {
+            return new RoundTripCountingDataSource();
+        }
+    }
+
+    @Test
+    void schedulerTick_WithDueJobBacklog() {
+        // Warm up Hibernate and the JIT before measuring
+        runTick(200);
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-10s %-12s %-16s %-12s", "due jobs", "round-trips", "per job", "tick ms"));
+        for (int dueJobs : new int[]{1_000, 10_000}) {
+            long[] result = runTick(dueJobs);
+            report.add(String.format("%-10d %-12d %-16.3f %-12d",
+                dueJobs, result[0], (double) result[0] / dueJobs, result[1]));
+        }
+        System.out.println(String.join(System.lineSeparator(), report));
+    }
+
+    private long[] runTick(int dueJobs) {
+        jobExecutionRepository.deleteAllInBatch();
+        jobRepository.deleteAllInBatch();
+        seedDueJobs(dueJobs);
+
+        roundTripCounter.reset();
+        long start = System.nanoTime();
+        jobSchedulingService.scheduleJobs();
+        long tickMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(jobExecutionRepository.count()).isEqualTo(dueJobs);
+        return new long[]{roundTripCounter.roundTrips(), tickMs};
+    }
+
+    private void seedDueJobs(int count) {
+        ZonedDateTime due = ZonedDateTime.now(ZoneId.of("Asia/Kolkata")).minusMinutes(1);
+        List<Job> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            jobs.add(Job.builder()
+                .id(TimeOrderedIds.next())
+                .schedule("0 0 * * * *")
+                .apiUrl("http://localhost:1/webhook")
+                .executionType(ExecutionType.ATLEAST_ONCE)
+                .isActive(true)
+                .nextExecutionTime(due)
+                .build());
+        }
+        jobRepository.saveAll(jobs);
+    }
+}
@@ -0,0 +1,61 @@
+package com.scheduler.entity;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedIdsTest {
+
+    @Test
+    void next_ShouldGenerateVersion7Uuids() {
+        // When
+        UUID id = UUID.fromString(TimeOrderedIds.next());
+
+        // Then
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isCloseTo(System.currentTimeMillis(), Offset.offset(1000L));
+    }
+
+    @Test
+    void next_ShouldBeStrictlyIncreasingInBinaryOrder() {
+        // Given
+        List<byte[]> ids = new ArrayList<>();
+
+        // When: many more ids than fit one millisecond's counter
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidBinaryJavaType.toBytes(TimeOrderedIds.next()));
+        }
+
+        // Then: as compared by the database, byte by byte unsigned
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(Arrays.compareUnsigned(ids.get(i - 1), ids.get(i))).isNegative();
+        }
+    }
+
+    @Test
+    void binaryForm_ShouldRoundTripThroughSixteenBytes() {
+        // Given
+        String id = "018e2f4a-7b10-7c3d-9a41-5f2e8b6c1d20";
+
+        // When
+        byte[] bytes = UuidBinaryJavaType.toBytes(id);
+
+        // Then
+        assertThat(bytes).hasSize(16);
+        assertThat(UuidBinaryJavaType.fromBytes(bytes)).isEqualTo(id);
+    }
+
+    @Test
+    void isValid_ShouldOnlyAcceptCanonicalUuids() {
+        assertThat(TimeOrderedIds.isValid("018e2f4a-7b10-7c3d-9a41-5f2e8b6c1d20")).isTrue();
+        assertThat(TimeOrderedIds.isValid("non-existent")).isFalse();
+        assertThat(TimeOrderedIds.isValid(null)).isFalse();
+    }
+}
@@ -0,0 +1,30 @@
+package com.scheduler.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Partition maintenance is MySQL-only; on embedded H2 the table must read as not partitioned.
+ */
+class ExecutionPartitionRepositoryTest {
+
+    private static final String URL = "jdbc:h2:mem:execution-partitions;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void findPartitionNames_OnH2_ShouldFindNone() {
+        // Given
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration", "classpath:db/vendor/h2")
+            .load()
+            .migrate();
+        ExecutionPartitionRepository partitionRepository = new ExecutionPartitionRepository(dataSource);
+
+        // When & Then
+        assertThat(partitionRepository.findPartitionNames()).isEmpty();
+    }
+}
@@ -0,0 +1,110 @@
+package com.scheduler.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies the Flyway migrations to embedded H2 and checks that the scheduler's hot queries are
+ * planned on their index rather than a table scan. The SQL mirrors the repository queries.
+ */
+class QueryPlanTest {
+
+    private static final String URL = "jdbc:h2:mem:query-plan;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure()
+            .dataSource(URL, "sa", "")
+            .locations("classpath:db/migration", "classpath:db/vendor/h2")
+            .load()
+            .migrate();
+        connection = DriverManager.getConnection(URL, "sa", "");
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void leaseDueJobs_ShouldUseShardIndex() throws SQLException {
+        // The shard index only pays off once there are jobs spread over many shards
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO jobs (id, schedule, api_url, execution_type, is_active, shard_id, next_execution_time) " +
+                              "SELECT CAST(RANDOM_UUID() AS BINARY(16)), '0 * * * * *', 'https://api.example.com/hook', " +
+                              "'ATLEAST_ONCE', TRUE, MOD(\"X\", 256), CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, 5000)");
+            statement.execute("ANALYZE TABLE jobs");
+        }
+        assertThat(plan("UPDATE jobs SET lease_owner = 'node-1', lease_until = CURRENT_TIMESTAMP " +
+                        "WHERE shard_id IN (3, 17, 42) AND is_active = TRUE AND next_execution_time <= CURRENT_TIMESTAMP " +
+                        "AND (lease_until IS NULL OR lease_until < CURRENT_TIMESTAMP) " +
+                        "ORDER BY next_execution_time ASC LIMIT 500"))
+            .contains("idx_jobs_shard_active_next_execution");
+    }
+
+    @Test
+    void findByLeaseToken_ShouldUseLeaseTokenIndex() throws SQLException {
+        assertThat(plan("SELECT * FROM jobs WHERE lease_token = X'018e2f4a7b107c3d9a415f2e8b6c1d20'"))
+            .contains("idx_jobs_lease_token");
+    }
+
+    @Test
+    void findEarliestNextExecutionTime_ShouldUseActiveNextExecutionIndex() throws SQLException {
+        assertThat(plan("SELECT MIN(next_execution_time) FROM jobs WHERE is_active = TRUE"))
+            .contains("idx_jobs_active_next_execution");
+    }
+
+    @Test
+    void findByJobId_ShouldUseJobCreatedIndex() throws SQLException {
+        assertThat(plan("SELECT * FROM job_executions WHERE job_id = X'018e2f4a7b107c3d9a415f2e8b6c1d20' ORDER BY created_at DESC LIMIT 10"))
+            .contains("idx_job_executions_job_created");
+    }
+
+    @Test
+    void findByStatus_ShouldUseStatusHeartbeatIndex() throws SQLException {
+        assertThat(plan("SELECT * FROM job_executions WHERE status = 'PENDING'"))
+            .contains("idx_job_executions_status_heartbeat");
+    }
+
+    @Test
+    void findDueRetries_ShouldUseNextRetryAtIndex() throws SQLException {
+        assertThat(plan("SELECT * FROM job_executions WHERE next_retry_at <= CURRENT_TIMESTAMP AND superseded = FALSE " +
+                        "ORDER BY next_retry_at ASC LIMIT 500"))
+            .contains("idx_job_executions_next_retry_at");
+    }
+
+    @Test
+    void failStaleExecutions_ShouldUseStatusHeartbeatIndex() throws SQLException {
+        assertThat(plan("UPDATE job_executions SET status = 'FAILED' " +
+                        "WHERE status = 'RUNNING' AND (last_heartbeat_at < CURRENT_TIMESTAMP " +
+                        "OR (last_heartbeat_at IS NULL AND started_at < CURRENT_TIMESTAMP)) LIMIT 1000"))
+            .contains("idx_job_executions_status_heartbeat");
+    }
+
+    @Test
+    void failOrphanedPendingExecutions_ShouldUseStatusHeartbeatIndex() throws SQLException {
+        assertThat(plan("UPDATE job_executions SET status = 'FAILED' " +
+                        "WHERE status = 'PENDING' AND scheduled_time < CURRENT_TIMESTAMP LIMIT 1000"))
+            .contains("idx_job_executions_status_heartbeat");
+    }
+
+    private static String plan(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("EXPLAIN " + sql)) {
+            result.next();
+            return result.getString(1).toLowerCase();
+        }
+    }
+}
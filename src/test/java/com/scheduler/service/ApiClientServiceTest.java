@@ -0,0 +1,114 @@
+package com.scheduler.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scheduler.benchmark.StubWebhookServer;
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.config.HttpClientConfig;
+import com.scheduler.config.RestTemplateConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApiClientServiceTest {
+
+    private StubWebhookServer okServer;
+    private StubWebhookServer failingServer;
+    private ApplicationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ApiClientService apiClientService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        okServer = new StubWebhookServer(Duration.ZERO, 0.0);
+        failingServer = new StubWebhookServer(Duration.ZERO, 1.0);
+        properties = new ApplicationProperties();
+        properties.getJob().getHttpClient().setEngine(ApplicationProperties.Job.HttpClient.Engine.ASYNC);
+        meterRegistry = new SimpleMeterRegistry();
+        apiClientService = new ApiClientService(new RestTemplateConfig().restTemplate(),
+            new HttpClientConfig().jobHttpClient(), new ObjectMapper(), properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        okServer.close();
+        failingServer.close();
+    }
+
+    @Test
+    void executeApiCallAsync_WithAsyncEngine_ShouldCompleteWithStatusCode() throws Exception {
+        // When
+        CompletableFuture<Integer> ok = apiClientService.executeApiCallAsync(okServer.url("/hook"), HttpMethod.GET, "execution-1", null);
+        CompletableFuture<Integer> failed = apiClientService.executeApiCallAsync(failingServer.url("/hook"), HttpMethod.POST, "execution-2", "{}");
+
+        // Then
+        assertThat(ok.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+        assertThat(failed.get(5, TimeUnit.SECONDS)).isEqualTo(500);
+        assertThat(meterRegistry.get("scheduler.http.client.requests").tag("status", "200").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("scheduler.http.client.requests").tag("status", "500").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void executeApiCallAsync_WithRedirect_ShouldFollowItLikeRestTemplate() throws Exception {
+        // Given
+        HttpServer redirectingServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        redirectingServer.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("Location", okServer.url("/hook"));
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        redirectingServer.start();
+        String url = "http://127.0.0.1:" + redirectingServer.getAddress().getPort() + "/moved";
+
+        try {
+            // When
+            CompletableFuture<Integer> async = apiClientService.executeApiCallAsync(url, HttpMethod.GET, "execution-1", null);
+            properties.getJob().getHttpClient().setEngine(ApplicationProperties.Job.HttpClient.Engine.REST_TEMPLATE);
+            CompletableFuture<Integer> blocking = apiClientService.executeApiCallAsync(url, HttpMethod.GET, "execution-2", null);
+
+            // Then
+            assertThat(async.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+            assertThat(blocking.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+        } finally {
+            redirectingServer.stop(0);
+        }
+    }
+
+    @Test
+    void executeApiCallAsync_WithUnreachableHost_ShouldCompleteExceptionally() {
+        // Given
+        String url = okServer.url("/hook");
+        okServer.close();
+
+        // When
+        CompletableFuture<Integer> result = apiClientService.executeApiCallAsync(url, HttpMethod.GET, "execution-1", null);
+
+        // Then
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasMessageContaining("API call failed due to connection/network error");
+    }
+
+    @Test
+    void executeApiCallAsync_WithRestTemplateEngine_ShouldReturnCompletedFuture() {
+        // Given
+        properties.getJob().getHttpClient().setEngine(ApplicationProperties.Job.HttpClient.Engine.REST_TEMPLATE);
+
+        // When
+        CompletableFuture<Integer> result = apiClientService.executeApiCallAsync(okServer.url("/hook"), HttpMethod.GET, "execution-1", null);
+
+        // Then
+        assertThat(result).isCompletedWithValue(200);
+    }
+}
@@ -0,0 +1,159 @@
+package com.scheduler.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BitmaskCronExpressionTest {
+
+    private static final List<ZoneId> ZONES = List.of(
+        ZoneOffset.UTC,
+        ZoneId.of("Asia/Kolkata"),
+        ZoneId.of("America/New_York"),
+        ZoneId.of("Europe/London"),
+        ZoneId.of("Europe/Berlin"),
+        ZoneOffset.ofHoursMinutes(-3, -30));
+
+    @Test
+    void next_WithRandomExpressions_ShouldMatchSpring() {
+        Random random = new Random(42);
+        for (int i = 0; i < 3000; i++) {
+            String expression = randomExpression(random);
+            ZoneId zone = ZONES.get(random.nextInt(ZONES.size()));
+            long fromEpochSecond = Instant.parse("2020-01-01T00:00:00Z").getEpochSecond()
+                + (long) (random.nextDouble() * 10 * 365 * 86400);
+            assertSameSequence(expression, ZonedDateTime.ofInstant(Instant.ofEpochSecond(fromEpochSecond, random.nextInt(1_000_000_000)), zone), 10);
+        }
+    }
+
+    @Test
+    void next_AcrossDstTransitions_ShouldMatchSpring() {
+        List<String> expressions = List.of(
+            "0 30 2 * * *", "0 0 * * * *", "0 */15 * * * *", "0 30 1 * * *", "30 59 1 * * *",
+            "0 0 2 * * SUN", "0 15 0-3 * * *", "0 0,30 1-2 * * *", "*/20 * 1-3 * * *", "0 45 2 * MAR,OCT,NOV *");
+        List<ZonedDateTime> transitions = List.of(
+            ZonedDateTime.parse("2024-03-09T23:00:00-05:00[America/New_York]"),
+            ZonedDateTime.parse("2024-11-02T23:00:00-04:00[America/New_York]"),
+            ZonedDateTime.parse("2024-11-03T01:10:00-05:00[America/New_York]"),
+            ZonedDateTime.parse("2024-03-30T23:30:00Z[Europe/London]"),
+            ZonedDateTime.parse("2024-10-26T23:30:00+01:00[Europe/London]"),
+            ZonedDateTime.parse("2024-03-31T00:00:00+01:00[Europe/Berlin]"));
+        for (String expression : expressions) {
+            for (ZonedDateTime from : transitions) {
+                assertSameSequence(expression, from, 50);
+            }
+        }
+    }
+
+    @Test
+    void next_WithHalfHourDstShifts_ShouldFireEveryExistingTimeOnceInOrder() {
+        // Spring resolves these at whole-hour granularity (it stalls or skips), so they are checked on their own.
+        // Lord Howe falls back from 02:00 +11 to 01:30 +10:30, and springs forward from 02:00 +10:30 to 02:30 +11
+        BitmaskCronExpression everyQuarter = BitmaskCronExpression.compile("0 */15 * * * *");
+
+        assertThat(fire(everyQuarter, ZonedDateTime.parse("2024-04-07T01:00:00+11:00[Australia/Lord_Howe]"), 8)).containsExactly(
+            "2024-04-07T01:15+11:00", "2024-04-07T01:30+11:00", "2024-04-07T01:45+11:00",
+            "2024-04-07T01:30+10:30", "2024-04-07T01:45+10:30", "2024-04-07T02:00+10:30",
+            "2024-04-07T02:15+10:30", "2024-04-07T02:30+10:30");
+        assertThat(fire(everyQuarter, ZonedDateTime.parse("2024-10-06T01:30:00+10:30[Australia/Lord_Howe]"), 4)).containsExactly(
+            "2024-10-06T01:45+10:30", "2024-10-06T02:30+11:00", "2024-10-06T02:45+11:00", "2024-10-06T03:00+11:00");
+    }
+
+    private static List<String> fire(BitmaskCronExpression expression, ZonedDateTime from, int times) {
+        List<String> fired = new ArrayList<>();
+        ZonedDateTime next = from;
+        for (int i = 0; i < times; i++) {
+            next = expression.next(next);
+            fired.add(next.toOffsetDateTime().toString());
+        }
+        return fired;
+    }
+
+    @Test
+    void compile_WithUnsupportedOrInvalidExpressions_ShouldReturnNull() {
+        assertThat(BitmaskCronExpression.compile("0 0 0 L * *")).isNull();
+        assertThat(BitmaskCronExpression.compile("0 0 0 ? * 5#2")).isNull();
+        assertThat(BitmaskCronExpression.compile("0 0 0 15W * *")).isNull();
+        assertThat(BitmaskCronExpression.compile("@daily")).isNull();
+        assertThat(BitmaskCronExpression.compile("0 0 0 30 2 *")).isNull();
+        assertThat(BitmaskCronExpression.compile("0 0 24 * * *")).isNull();
+        assertThat(BitmaskCronExpression.compile("0 0 * * *")).isNull();
+        assertThat(BitmaskCronExpression.compile("0 0 9-17/2 ? jan-jun mon-fri")).isNotNull();
+    }
+
+    private static void assertSameSequence(String expression, ZonedDateTime from, int steps) {
+        BitmaskCronExpression bitmask = BitmaskCronExpression.compile(expression);
+        CronExpression spring = CronExpression.parse(expression);
+        if (bitmask == null) {
+            // Only expressions that can never fire are rejected
+            assertThat(spring.next(from)).as(expression).isNull();
+            return;
+        }
+
+        ZonedDateTime expected = from;
+        ZonedDateTime actual = from;
+        for (int step = 0; step < steps && expected != null; step++) {
+            ZonedDateTime previous = expected;
+            expected = spring.next(expected);
+            if (expected != null && !expected.isAfter(previous)) {
+                // Spring can stall inside half-hour DST overlaps; nothing left to compare
+                return;
+            }
+            actual = bitmask.next(actual);
+            assertThat(actual).as("%s from %s, step %d", expression, from, step).isEqualTo(expected);
+        }
+    }
+
+    private static String randomExpression(Random random) {
+        return String.join(" ",
+            randomField(random, 0, 59, false),
+            randomField(random, 0, 59, false),
+            randomField(random, 0, 23, false),
+            randomDayOfMonth(random),
+            randomField(random, 1, 12, false),
+            randomField(random, 0, 7, true));
+    }
+
+    private static String randomDayOfMonth(Random random) {
+        String field = randomField(random, 1, 31, false);
+        // Avoid expressions that can never fire, which Spring gives up on at its own search limit
+        return field.matches("3[01]|29") ? "*/3" : field;
+    }
+
+    private static String randomField(Random random, int min, int max, boolean dayOfWeek) {
+        int span = max - min + 1;
+        switch (random.nextInt(dayOfWeek ? 7 : 6)) {
+            case 0:
+                return "*";
+            case 1:
+                return String.valueOf(min + random.nextInt(span));
+            case 2: {
+                int a = min + random.nextInt(span);
+                int b = a + random.nextInt(max - a + 1);
+                return a + "-" + b;
+            }
+            case 3:
+                return "*/" + (1 + random.nextInt(Math.max(1, span / 2)));
+            case 4: {
+                int a = min + random.nextInt(span);
+                int b = min + random.nextInt(span);
+                return a == b ? String.valueOf(a) : Math.min(a, b) + "," + Math.max(a, b);
+            }
+            case 5: {
+                int a = min + random.nextInt(span);
+                return a + "/" + (1 + random.nextInt(Math.max(1, span / 3)));
+            }
+            default:
+                return List.of("MON-FRI", "SAT,SUN", "?", "TUE").get(random.nextInt(4));
+        }
+    }
+}
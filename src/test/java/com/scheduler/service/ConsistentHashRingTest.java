@@ -0,0 +1,66 @@
+package com.scheduler.service;
+
+import com.scheduler.entity.JobShards;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> NODES = List.of("node-a", "node-b", "node-c", "node-d");
+
+    @Test
+    void shardsOf_ShouldSplitEveryShardBetweenNodesRoughlyEvenly() {
+        // Given
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 64);
+
+        // When
+        List<List<Integer>> assignment = NODES.stream().map(node -> ring.shardsOf(node, JobShards.COUNT)).toList();
+
+        // Then
+        Set<Integer> assigned = new HashSet<>();
+        assignment.forEach(assigned::addAll);
+        assertThat(assigned).hasSize(JobShards.COUNT);
+        assertThat(assignment.stream().mapToInt(List::size).sum()).isEqualTo(JobShards.COUNT);
+        assertThat(assignment).allSatisfy(shards -> assertThat(shards.size()).isBetween(32, 96));
+    }
+
+    @Test
+    void ownerOf_WhenNodeLeaves_ShouldOnlyMoveItsOwnShards() {
+        // Given
+        ConsistentHashRing before = new ConsistentHashRing(NODES, 64);
+        List<String> remaining = new ArrayList<>(NODES);
+        remaining.remove("node-c");
+
+        // When
+        ConsistentHashRing after = new ConsistentHashRing(remaining, 64);
+
+        // Then
+        assertThat(IntStream.range(0, JobShards.COUNT))
+            .filteredOn(shard -> !before.ownerOf(shard).equals("node-c"))
+            .allSatisfy(shard -> assertThat(after.ownerOf(shard)).isEqualTo(before.ownerOf(shard)));
+        assertThat(after.shardsOf("node-c", JobShards.COUNT)).isEmpty();
+    }
+
+    @Test
+    void ownerOf_ShouldNotDependOnNodeOrder() {
+        // Given
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 64);
+        ConsistentHashRing reversed = new ConsistentHashRing(List.of("node-d", "node-c", "node-b", "node-a"), 64);
+
+        // Then
+        assertThat(IntStream.range(0, JobShards.COUNT))
+            .allSatisfy(shard -> assertThat(reversed.ownerOf(shard)).isEqualTo(ring.ownerOf(shard)));
+    }
+
+    @Test
+    void ownerOf_WithNoNodes_ShouldReturnNull() {
+        assertThat(new ConsistentHashRing(List.of(), 64).ownerOf(0)).isNull();
+    }
+}
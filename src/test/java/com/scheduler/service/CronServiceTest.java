@@ -1,10 +1,13 @@
 package com.scheduler.service;
 
+import com.scheduler.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -171,4 +174,85 @@ class CronServiceTest {
         assertThat(nextExecution.getMinute()).isEqualTo(45); // Next 15,45 minute mark
         assertThat(nextExecution.getSecond()).isEqualTo(0);
     }
+
+    @Test
+    void getNextExecutionTime_WithRepeatedExpression_ShouldReuseParsedExpression() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CronService cachingCronService = new CronService(2, ApplicationProperties.Scheduler.CronEngine.SPRING, meterRegistry);
+        ZonedDateTime fromTime = ZonedDateTime.parse("2024-01-01T10:30:00Z");
+
+        // When
+        ZonedDateTime first = cachingCronService.getNextExecutionTime("0 */5 * * * *", fromTime);
+        ZonedDateTime second = cachingCronService.getNextExecutionTime("  0 */5  * * * * ", fromTime);
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThat(cachingCronService.cacheSize()).isEqualTo(1);
+        assertThat(meterRegistry.get("scheduler.cron.cache").tag("result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("scheduler.cron.cache").tag("result", "miss").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getNextExecutionTime_WithMoreExpressionsThanCacheSize_ShouldStayBounded() {
+        // Given
+        CronService cachingCronService = new CronService(2, ApplicationProperties.Scheduler.CronEngine.SPRING, new SimpleMeterRegistry());
+        ZonedDateTime fromTime = ZonedDateTime.parse("2024-01-01T10:30:00Z");
+
+        // When
+        cachingCronService.getNextExecutionTime("0 0 * * * *", fromTime);
+        cachingCronService.getNextExecutionTime("0 15 * * * *", fromTime);
+        cachingCronService.getNextExecutionTime("0 30 * * * *", fromTime);
+
+        // Then
+        assertThat(cachingCronService.cacheSize()).isEqualTo(2);
+    }
+
+    @Test
+    void getNextExecutionTime_WithInvalidExpression_ShouldNotCacheIt() {
+        // When & Then
+        assertThatThrownBy(() -> cronService.getNextExecutionTime("not a cron", ZonedDateTime.now()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(cronService.cacheSize()).isZero();
+    }
+
+    @Test
+    void getNextExecutionTime_WithBitmaskEngine_ShouldMatchSpringAndFallBackForUnsupportedSyntax() {
+        // Given
+        CronService bitmaskCronService = new CronService(16, ApplicationProperties.Scheduler.CronEngine.BITMASK, new SimpleMeterRegistry());
+        ZonedDateTime fromTime = ZonedDateTime.parse("2024-01-01T10:30:00Z");
+
+        // When & Then
+        assertThat(bitmaskCronService.getNextExecutionTime("0 15,45 9-17 * * 1-5", fromTime))
+            .isEqualTo(cronService.getNextExecutionTime("0 15,45 9-17 * * 1-5", fromTime));
+        assertThat(bitmaskCronService.getNextExecutionTime("0 0 12 L * *", fromTime))
+            .isEqualTo(ZonedDateTime.parse("2024-01-31T12:00:00Z"));
+    }
+
+    @Test
+    void spreadOffset_ShouldBeStablePerJobAndWithinWindow() {
+        // Given
+        String jobId = "018e2f4a-7b10-7c3d-9a41-5f2e8b6c1d20";
+
+        // When
+        Duration offset = CronService.spreadOffset(jobId, 300);
+
+        // Then
+        assertThat(offset).isEqualTo(CronService.spreadOffset(jobId, 300));
+        assertThat(offset).isBetween(Duration.ZERO, Duration.ofSeconds(300).minusMillis(1));
+        assertThat(CronService.spreadOffset(jobId, null)).isZero();
+        assertThat(CronService.spreadOffset("job-123", 300)).isZero();
+    }
+
+    @Test
+    void getNextExecutionTime_WithOffset_ShouldFireAtOffsetAfterEachCronTime() {
+        // Given
+        Duration offset = Duration.ofSeconds(90);
+
+        // When & Then: 10:01:30 is the offset fire of 10:00, so the next one is 11:01:30
+        assertThat(cronService.getNextExecutionTime("0 0 * * * *", ZonedDateTime.parse("2024-01-01T10:00:30Z"), offset))
+            .isEqualTo(ZonedDateTime.parse("2024-01-01T10:01:30Z"));
+        assertThat(cronService.getNextExecutionTime("0 0 * * * *", ZonedDateTime.parse("2024-01-01T10:01:30Z"), offset))
+            .isEqualTo(ZonedDateTime.parse("2024-01-01T11:01:30Z"));
+    }
 }
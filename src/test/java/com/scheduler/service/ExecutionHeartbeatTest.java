@@ -0,0 +1,56 @@
+package com.scheduler.service;
+
+import com.scheduler.repository.JobExecutionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionHeartbeatTest {
+
+    @Mock
+    private JobExecutionRepository jobExecutionRepository;
+
+    @Spy
+    private Clock clock = Clock.system(ZoneId.of("Asia/Kolkata"));
+
+    @InjectMocks
+    private ExecutionHeartbeat heartbeat;
+
+    @Test
+    void heartbeat_WithRunningExecutions_ShouldRefreshThemInChunkedBatchUpdates() {
+        // Given
+        for (int i = 0; i < 1500; i++) {
+            heartbeat.register("execution-" + i);
+        }
+        heartbeat.unregister("execution-0");
+
+        // When
+        heartbeat.heartbeat();
+
+        // Then
+        verify(jobExecutionRepository).heartbeat(argThat((Collection<String> ids) -> ids.size() == 1000), any(ZonedDateTime.class));
+        verify(jobExecutionRepository).heartbeat(argThat((Collection<String> ids) -> ids.size() == 499), any(ZonedDateTime.class));
+    }
+
+    @Test
+    void heartbeat_WithNothingRunning_ShouldNotTouchDatabase() {
+        // When
+        heartbeat.heartbeat();
+
+        // Then
+        verifyNoInteractions(jobExecutionRepository);
+    }
+}
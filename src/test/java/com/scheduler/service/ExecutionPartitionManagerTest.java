@@ -0,0 +1,170 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.entity.UuidBinaryJavaType;
+import com.scheduler.repository.ExecutionPartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionPartitionManagerTest {
+
+    @Mock
+    private ExecutionPartitionRepository partitionRepository;
+
+    @Spy
+    private ApplicationProperties properties = new ApplicationProperties();
+
+    @Spy
+    private Clock clock = Clock.fixed(Instant.parse("2024-03-10T06:00:00Z"), ZoneId.of("Asia/Kolkata"));
+
+    @InjectMocks
+    private ExecutionPartitionManager partitionManager;
+
+    @TempDir
+    private Path archiveDirectory;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties.Job.Retention retention = properties.getJob().getRetention();
+        retention.setRetentionDays(30);
+        retention.setPartitionAheadDays(2);
+        retention.getArchive().setDirectory(archiveDirectory.toString());
+    }
+
+    @Test
+    void maintainPartitions_WhenTableIsNotPartitioned_ShouldNotRunDdl() {
+        // Given
+        when(partitionRepository.findPartitionNames()).thenReturn(List.of());
+
+        // When
+        partitionManager.maintainPartitions();
+
+        // Then
+        verify(partitionRepository, never()).addDailyPartitions(anyMap());
+        verify(partitionRepository, never()).dropPartition(anyString());
+    }
+
+    @Test
+    void maintainPartitions_OnFirstRun_ShouldSplitTodayAndAheadDaysOffCatchAll() {
+        // Given
+        when(partitionRepository.findPartitionNames()).thenReturn(List.of("pmax"));
+
+        // When
+        partitionManager.maintainPartitions();
+
+        // Then
+        verify(partitionRepository).addDailyPartitions(Map.of(
+            "p20240310", LocalDate.parse("2024-03-10"),
+            "p20240311", LocalDate.parse("2024-03-11"),
+            "p20240312", LocalDate.parse("2024-03-12")));
+    }
+
+    @Test
+    void maintainPartitions_ShouldOnlyAddMissingDaysAndDropExpiredOnes() {
+        // Given
+        when(partitionRepository.findPartitionNames())
+            .thenReturn(List.of("p20240207", "p20240208", "p20240209", "p20240311", "pmax"));
+
+        // When
+        partitionManager.maintainPartitions();
+
+        // Then
+        verify(partitionRepository).addDailyPartitions(Map.of("p20240312", LocalDate.parse("2024-03-12")));
+        // Retention cut-off is 2024-02-09
+        verify(partitionRepository).dropPartition("p20240207");
+        verify(partitionRepository).dropPartition("p20240208");
+        verify(partitionRepository, never()).dropPartition("p20240209");
+        verify(partitionRepository, never()).streamPartition(anyString(), any());
+    }
+
+    @Test
+    void maintainPartitions_WithArchiveEnabled_ShouldArchiveBeforeDropping() throws Exception {
+        // Given
+        properties.getJob().getRetention().getArchive().setEnabled(true);
+        when(partitionRepository.findPartitionNames()).thenReturn(List.of("p20240101", "p20240311", "p20240312", "pmax"));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row("018e2f4a-7b10-7c3d-9a41-5f2e8b6c1d20", "SUCCESS"));
+            handler.processRow(row("018e2f4a-7b10-7c3d-9a41-5f2e8b6c1d21", "FAILED, \"timeout\""));
+            return null;
+        }).when(partitionRepository).streamPartition(eq("p20240101"), any());
+
+        // When
+        partitionManager.maintainPartitions();
+
+        // Then
+        var inOrder = inOrder(partitionRepository);
+        inOrder.verify(partitionRepository).streamPartition(eq("p20240101"), any());
+        inOrder.verify(partitionRepository).dropPartition("p20240101");
+        assertThat(gunzip(archiveDirectory.resolve("job_executions_p20240101.csv.gz")))
+            .isEqualTo("id,status\n018e2f4a-7b10-7c3d-9a41-5f2e8b6c1d20,SUCCESS\n" +
+                "018e2f4a-7b10-7c3d-9a41-5f2e8b6c1d21,\"FAILED, \"\"timeout\"\"\"\n");
+        assertThat(archiveDirectory.resolve("job_executions_p20240101.csv.gz.tmp")).doesNotExist();
+    }
+
+    @Test
+    void maintainPartitions_WhenArchiveFails_ShouldNotDropPartition() {
+        // Given
+        properties.getJob().getRetention().getArchive().setEnabled(true);
+        when(partitionRepository.findPartitionNames()).thenReturn(List.of("p20240101", "p20240312", "pmax"));
+        doThrow(new RuntimeException("Connection lost")).when(partitionRepository).streamPartition(eq("p20240101"), any());
+
+        // When
+        partitionManager.maintainPartitions();
+
+        // Then
+        verify(partitionRepository, never()).dropPartition(anyString());
+        assertThat(archiveDirectory.resolve("job_executions_p20240101.csv.gz.tmp")).doesNotExist();
+    }
+
+    private static ResultSet row(String id, String status) throws Exception {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        lenient().when(metaData.getColumnCount()).thenReturn(2);
+        lenient().when(metaData.getColumnLabel(1)).thenReturn("id");
+        lenient().when(metaData.getColumnLabel(2)).thenReturn("status");
+        when(metaData.getColumnType(1)).thenReturn(Types.BINARY);
+        when(metaData.getColumnType(2)).thenReturn(Types.VARCHAR);
+        ResultSet row = mock(ResultSet.class);
+        when(row.getMetaData()).thenReturn(metaData);
+        when(row.getBytes(1)).thenReturn(UuidBinaryJavaType.toBytes(id));
+        when(row.getString(2)).thenReturn(status);
+        return row;
+    }
+
+    private static String gunzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
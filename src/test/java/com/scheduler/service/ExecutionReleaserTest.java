@@ -0,0 +1,126 @@
+package com.scheduler.service;
+
+import com.scheduler.entity.ExecutionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpMethod;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionReleaserTest {
+
+    @Mock
+    private JobExecutionService jobExecutionService;
+
+    private final Clock clock = Clock.system(ZoneId.of("Asia/Kolkata"));
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ExecutionReleaser executionReleaser;
+
+    @BeforeEach
+    void setUp() {
+        executionReleaser = new ExecutionReleaser(jobExecutionService, clock, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executionReleaser.stop();
+    }
+
+    @Test
+    void release_WithDueExecution_ShouldExecuteAtOnce() {
+        // Given
+        ExecutionContext context = context(ZonedDateTime.now(clock).minusSeconds(1));
+
+        // When
+        executionReleaser.release(context, "polling");
+
+        // Then
+        verify(jobExecutionService).execute(context);
+        assertThat(fireError().totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(1000);
+    }
+
+    @Test
+    void release_WithFutureExecution_ShouldParkItUntilItsScheduledTime() {
+        // Given
+        ExecutionContext context = context(ZonedDateTime.now(clock).plusNanos(300_000_000));
+
+        // When
+        executionReleaser.release(context, "polling");
+
+        // Then
+        verify(jobExecutionService, never()).execute(context);
+        assertThat(meterRegistry.get("scheduler.fire.parked").gauge().value()).isEqualTo(1);
+        verify(jobExecutionService, timeout(2000)).execute(context);
+        assertThat(fireError().count()).isEqualTo(1);
+        // Released at its instant, not on a later polling tick
+        assertThat(fireError().max(TimeUnit.MILLISECONDS)).isLessThan(100);
+    }
+
+    @Test
+    void release_WhenExecutorRejectsExecution_ShouldFailItForRetry() {
+        // Given
+        ExecutionContext context = context(ZonedDateTime.now(clock));
+        doThrow(new TaskRejectedException("saturated")).when(jobExecutionService).execute(context);
+
+        // When
+        executionReleaser.release(context, "polling");
+
+        // Then
+        verify(jobExecutionService).recordRejected(context);
+        assertThat(meterRegistry.get("scheduler.fire.rejected").tag("mode", "polling").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void stop_WithParkedExecutions_ShouldFailThemForRetry() {
+        // Given
+        ExecutionContext context = context(ZonedDateTime.now(clock).plusMinutes(1));
+        executionReleaser.release(context, "polling");
+
+        // When
+        executionReleaser.stop();
+
+        // Then: its job has moved on to the next fire, so the retry is the only way it still runs
+        verify(jobExecutionService).recordRejected(context);
+        verify(jobExecutionService, never()).execute(context);
+        assertThat(executionReleaser.parkedCount()).isZero();
+    }
+
+    @Test
+    void release_AfterStop_ShouldFailExecutionForRetry() {
+        // Given
+        executionReleaser.stop();
+        ExecutionContext context = context(ZonedDateTime.now(clock).plusMinutes(1));
+
+        // When
+        executionReleaser.release(context, "polling");
+
+        // Then
+        verify(jobExecutionService).recordRejected(context);
+    }
+
+    private Timer fireError() {
+        return meterRegistry.get("scheduler.fire.error").tag("mode", "polling").timer();
+    }
+
+    private static ExecutionContext context(ZonedDateTime scheduledTime) {
+        return new ExecutionContext("execution-123", "job-123", "https://api.example.com/webhook", HttpMethod.GET,
+            ExecutionType.ATLEAST_ONCE, null, 0, scheduledTime);
+    }
+}
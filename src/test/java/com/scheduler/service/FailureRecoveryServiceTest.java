@@ -2,22 +2,32 @@ package com.scheduler.service;
 
 import com.scheduler.config.ApplicationProperties;
 import com.scheduler.entity.ExecutionStatus;
+import com.scheduler.entity.ExecutionType;
 import com.scheduler.entity.JobExecution;
 import com.scheduler.repository.JobExecutionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Clock;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,11 +37,29 @@ class FailureRecoveryServiceTest {
     private JobExecutionRepository jobExecutionRepository;
 
     @Mock
-    private JobExecutionService jobExecutionService;
+    private ExecutionReleaser executionReleaser;
 
     @Mock
     private ApplicationProperties properties;
 
+    @Mock
+    private JobDefinitionCache jobDefinitions;
+
+    @Mock
+    private HostCircuitBreakerRegistry circuitBreakers;
+
+    @Mock
+    private RetryScheduler retryScheduler;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private Clock clock = Clock.system(ZoneId.of("Asia/Kolkata"));
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private FailureRecoveryService failureRecoveryService;
 
@@ -56,187 +84,159 @@ class FailureRecoveryServiceTest {
         jobProps.setRecovery(recovery);
         jobProps.setRetry(retry);
 
-        when(properties.getJob()).thenReturn(jobProps);
+        lenient().when(properties.getJob()).thenReturn(jobProps);
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(jobDefinitions.getAll(any())).thenAnswer(invocation -> invocation.<Collection<String>>getArgument(0).stream()
+            .collect(Collectors.toMap(jobId -> jobId,
+                jobId -> new JobDefinition(jobId, "https://api.example.com/webhook", ExecutionType.ATLEAST_ONCE, null))));
     }
 
-
-
-
     @Test
-    void retryFailedExecutions_WithEligibleFailedExecutions_ShouldCreateRetryExecutions() {
+    void retryFailedExecutions_ShouldQueueDueRetriesFromBoundedIndexedQuery() {
         // Given
-        ZonedDateTime completedTime = ZonedDateTime.now().minusSeconds(5); // Completed 5 seconds ago
+        ZonedDateTime nextRetryAt = ZonedDateTime.now().plusSeconds(2);
         JobExecution failedExecution = JobExecution.builder()
             .id("execution-1")
             .jobId("job-1")
             .status(ExecutionStatus.FAILED)
-            .completedAt(completedTime)
             .retryCount(1)
+            .nextRetryAt(nextRetryAt)
             .build();
-
-        List<JobExecution> failedExecutions = Arrays.asList(failedExecution);
-        when(jobExecutionRepository.findByStatusAndRetryCountLessThanOrderByCreatedAtAsc(
-            ExecutionStatus.FAILED, 5))
-            .thenReturn(failedExecutions);
+        when(jobExecutionRepository.findDueRetries(any(ZonedDateTime.class), eq(PageRequest.of(0, 500))))
+            .thenReturn(List.of(failedExecution));
 
         // When
         failureRecoveryService.retryFailedExecutions();
 
         // Then
-        verify(jobExecutionRepository).save(argThat(execution -> 
-            execution.getJobId().equals("job-1") &&
-            execution.getStatus() == ExecutionStatus.PENDING &&
-            execution.getRetryCount() == 2)); // Incremented retry count
-
-        verify(jobExecutionService).execute(anyString());
+        verify(retryScheduler).schedule("execution-1", "job-1", 1, nextRetryAt);
+        verifyNoInteractions(executionReleaser);
     }
 
     @Test
-    void retryFailedExecutions_WithMaxRetryAttemptsReached_ShouldNotRetry() {
+    void fireRetries_ShouldSupersedeOriginalAndCreateRetryExecution() {
         // Given
-        JobExecution maxRetryExecution = JobExecution.builder()
-            .id("execution-1")
-            .jobId("job-1")
-            .status(ExecutionStatus.FAILED)
-            .completedAt(ZonedDateTime.now().minusSeconds(5))
-            .retryCount(5) // Max retries reached
-            .build();
-
-        List<JobExecution> failedExecutions = Arrays.asList(maxRetryExecution);
-        when(jobExecutionRepository.findByStatusAndRetryCountLessThanOrderByCreatedAtAsc(
-            ExecutionStatus.FAILED, 5))
-            .thenReturn(failedExecutions);
+        when(jobExecutionRepository.markSuperseded("execution-1")).thenReturn(1);
 
         // When
-        failureRecoveryService.retryFailedExecutions();
+        failureRecoveryService.fireRetries(List.of(new RetryScheduler.DueRetry("execution-1", "job-1", 1, 0L)));
 
         // Then
-        verify(jobExecutionRepository, never()).save(any(JobExecution.class));
-        verify(jobExecutionService, never()).execute(anyString());
+        verify(jobExecutionRepository).saveAll(argThat((List<JobExecution> retries) ->
+            retries.size() == 1 &&
+            retries.get(0).getJobId().equals("job-1") &&
+            retries.get(0).getStatus() == ExecutionStatus.PENDING &&
+            retries.get(0).getRetryCount() == 2)); // Incremented retry count
+        verify(executionReleaser).release(any(ExecutionContext.class), eq("retry"));
     }
 
-
     @Test
-    void retryFailedExecutions_WithExponentialBackoff_ShouldRespectBackoffDelay() {
+    void fireRetries_WhenAlreadySuperseded_ShouldNotRetryAgain() {
         // Given
-        // Set completed time to allow for retry (more than 2000ms ago for retry count 1)
-        ZonedDateTime completedTime = ZonedDateTime.now().minusSeconds(3);
-        JobExecution failedExecution = JobExecution.builder()
-            .id("execution-1")
-            .jobId("job-1")
-            .status(ExecutionStatus.FAILED)
-            .completedAt(completedTime)
-            .retryCount(1) // Second retry attempt
-            .build();
-
-        List<JobExecution> failedExecutions = Arrays.asList(failedExecution);
-        when(jobExecutionRepository.findByStatusAndRetryCountLessThanOrderByCreatedAtAsc(
-            ExecutionStatus.FAILED, 5))
-            .thenReturn(failedExecutions);
+        when(jobExecutionRepository.markSuperseded("execution-1")).thenReturn(0);
 
         // When
-        failureRecoveryService.retryFailedExecutions();
+        failureRecoveryService.fireRetries(List.of(new RetryScheduler.DueRetry("execution-1", "job-1", 1, 0L)));
 
         // Then
-        verify(jobExecutionRepository).save(argThat(execution -> 
-            execution.getJobId().equals("job-1") &&
-            execution.getStatus() == ExecutionStatus.PENDING &&
-            execution.getRetryCount() == 2)); // Incremented retry count
-
-        verify(jobExecutionService).execute(anyString());
+        verify(jobExecutionRepository).saveAll(argThat((List<JobExecution> retries) -> retries.isEmpty()));
+        verify(executionReleaser, never()).release(any(ExecutionContext.class), eq("retry"));
     }
 
     @Test
-    void retryFailedExecutions_WithMultipleEligibleFailures_ShouldRetryAll() {
+    void fireRetries_WithMultipleDueRetries_ShouldRetryAllInOneTransaction() {
         // Given
-        ZonedDateTime completedTime = ZonedDateTime.now().minusSeconds(5);
-        JobExecution failedExecution1 = JobExecution.builder()
-            .id("execution-1")
-            .jobId("job-1")
-            .status(ExecutionStatus.FAILED)
-            .completedAt(completedTime)
-            .retryCount(0)
-            .build();
+        when(jobExecutionRepository.markSuperseded(anyString())).thenReturn(1);
 
-        JobExecution failedExecution2 = JobExecution.builder()
-            .id("execution-2")
-            .jobId("job-2")
-            .status(ExecutionStatus.FAILED)
-            .completedAt(completedTime)
-            .retryCount(2)
-            .build();
+        // When
+        failureRecoveryService.fireRetries(List.of(
+            new RetryScheduler.DueRetry("execution-1", "job-1", 0, 0L),
+            new RetryScheduler.DueRetry("execution-2", "job-2", 2, 0L)));
 
-        List<JobExecution> failedExecutions = Arrays.asList(failedExecution1, failedExecution2);
-        when(jobExecutionRepository.findByStatusAndRetryCountLessThanOrderByCreatedAtAsc(
-            ExecutionStatus.FAILED, 5))
-            .thenReturn(failedExecutions);
+        // Then
+        verify(transactionTemplate).execute(any());
+        verify(jobExecutionRepository).saveAll(argThat((List<JobExecution> retries) -> retries.size() == 2));
+        verify(executionReleaser, times(2)).release(any(ExecutionContext.class), eq("retry"));
+    }
+
+    @Test
+    void fireRetries_WhenJobNoLongerExists_ShouldSupersedeWithoutRetrying() {
+        // Given
+        doReturn(Map.of()).when(jobDefinitions).getAll(any());
+        when(jobExecutionRepository.markSuperseded("execution-1")).thenReturn(1);
 
         // When
-        failureRecoveryService.retryFailedExecutions();
+        failureRecoveryService.fireRetries(List.of(new RetryScheduler.DueRetry("execution-1", "job-1", 0, 0L)));
 
         // Then
-        verify(jobExecutionRepository, times(2)).save(any(JobExecution.class));
-        verify(jobExecutionService, times(2)).execute(anyString());
+        verify(jobExecutionRepository).saveAll(argThat((List<JobExecution> retries) -> retries.isEmpty()));
+        verify(executionReleaser, never()).release(any(ExecutionContext.class), eq("retry"));
     }
 
     @Test
-    void calculateRetryDelay_ShouldUseExponentialBackoff() {
+    void fireRetries_WithOpenCircuitForHost_ShouldDeferRetry() {
         // Given
-        FailureRecoveryService service = new FailureRecoveryService(
-            jobExecutionRepository, jobExecutionService, properties);
+        doReturn(Map.of("job-1", new JobDefinition("job-1", "https://down.example.com/webhook", ExecutionType.ATLEAST_ONCE, null)))
+            .when(jobDefinitions).getAll(any());
+        when(circuitBreakers.isOpen("https://down.example.com/webhook")).thenReturn(true);
+
+        // When
+        failureRecoveryService.fireRetries(List.of(new RetryScheduler.DueRetry("execution-1", "job-1", 0, 0L)));
 
-        // When & Then
-        // First retry: 1000ms * 2^0 = 1000ms
-        long delay0 = service.calculateRetryDelay(0);
-        assertThat(delay0).isEqualTo(1000);
+        // Then
+        verify(jobExecutionRepository).deferRetry(eq("execution-1"), any(ZonedDateTime.class));
+        verify(jobExecutionRepository, never()).markSuperseded(anyString());
+        verify(executionReleaser, never()).release(any(ExecutionContext.class), eq("retry"));
+    }
 
-        // Second retry: 1000ms * 2^1 = 2000ms
-        long delay1 = service.calculateRetryDelay(1);
-        assertThat(delay1).isEqualTo(2000);
+    @Test
+    void detectStaleExecutions_ShouldFailStaleHeartbeatsInOneBoundedUpdate() {
+        // Given
+        recovery.setSweepBatchSize(1000);
+        when(jobExecutionRepository.failStaleExecutions(any(ZonedDateTime.class), any(ZonedDateTime.class),
+            eq(5), eq(1000L), eq(2.0), eq(1000))).thenReturn(3);
 
-        // Third retry: 1000ms * 2^2 = 4000ms
-        long delay2 = service.calculateRetryDelay(2);
-        assertThat(delay2).isEqualTo(4000);
+        // When
+        failureRecoveryService.detectStaleExecutions();
 
-        // Fourth retry: 1000ms * 2^3 = 8000ms
-        long delay3 = service.calculateRetryDelay(3);
-        assertThat(delay3).isEqualTo(8000);
+        // Then
+        verify(jobExecutionRepository).failStaleExecutions(
+            argThat(threshold -> threshold.isBefore(ZonedDateTime.now().minusSeconds(99))),
+            any(ZonedDateTime.class), eq(5), eq(1000L), eq(2.0), eq(1000));
+        verify(jobExecutionRepository, never()).save(any(JobExecution.class));
+        verify(jobExecutionRepository, never()).findAll();
+        assertThat(meterRegistry.get("scheduler.recovery.stale").counter().count()).isEqualTo(3);
     }
 
     @Test
-    void shouldRetry_WithSufficientDelay_ShouldReturnTrue() {
+    void detectStaleExecutions_ShouldFailOrphanedPendingExecutionsInOneBoundedUpdate() {
         // Given
-        JobExecution failedExecution = JobExecution.builder()
-            .id("execution-1")
-            .jobId("job-1")
-            .status(ExecutionStatus.FAILED)
-            .completedAt(ZonedDateTime.now().minusSeconds(5)) // 5 seconds ago
-            .retryCount(0)
-            .build();
-
-        FailureRecoveryService service = new FailureRecoveryService(
-            jobExecutionRepository, jobExecutionService, properties);
+        recovery.setSweepBatchSize(1000);
+        when(jobExecutionRepository.failOrphanedPendingExecutions(any(ZonedDateTime.class), any(ZonedDateTime.class),
+            eq(5), eq(1000L), eq(2.0), eq(1000))).thenReturn(2);
 
         // When
-        boolean shouldRetry = service.shouldRetry(failedExecution);
+        failureRecoveryService.detectStaleExecutions();
 
         // Then
-        assertThat(shouldRetry).isTrue();
+        verify(jobExecutionRepository).failOrphanedPendingExecutions(
+            argThat(threshold -> threshold.isBefore(ZonedDateTime.now().minusSeconds(299))),
+            any(ZonedDateTime.class), eq(5), eq(1000L), eq(2.0), eq(1000));
+        assertThat(meterRegistry.get("scheduler.recovery.orphaned").counter().count()).isEqualTo(2);
     }
 
-
     @Test
     void retryFailedExecutions_WithException_ShouldNotPropagateException() {
         // Given
-        when(jobExecutionRepository.findByStatusAndRetryCountLessThanOrderByCreatedAtAsc(
-            ExecutionStatus.FAILED, 5))
+        when(jobExecutionRepository.findDueRetries(any(ZonedDateTime.class), any()))
             .thenThrow(new RuntimeException("Database error"));
 
         // When & Then - Should not throw exception
         failureRecoveryService.retryFailedExecutions();
 
         // Then
-        verify(jobExecutionRepository, never()).save(any(JobExecution.class));
-        verify(jobExecutionService, never()).execute(anyString());
+        verifyNoInteractions(retryScheduler);
+        verify(executionReleaser, never()).release(any(ExecutionContext.class), eq("retry"));
     }
 }
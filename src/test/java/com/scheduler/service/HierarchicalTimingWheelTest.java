@@ -0,0 +1,77 @@
+package com.scheduler.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void add_WithPastDeadline_ShouldReportItemAsDue() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, START);
+
+        // When & Then
+        assertThat(wheel.add("job-1", START - 500)).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advanceTo_ShouldReleaseItemsOnlyOnceTheirDeadlineIsReached() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, START);
+        wheel.add("job-1", START + 35);
+
+        // When & Then
+        assertThat(wheel.advanceTo(START + 30)).isEmpty();
+        assertThat(wheel.advanceTo(START + 39)).isEmpty();
+        assertThat(wheel.advanceTo(START + 40)).containsExactly("job-1");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advanceTo_ShouldCascadeItemsBeyondTheFirstLevel() {
+        // Given - level 0 spans 80 ms, level 1 spans 640 ms, level 2 spans 5120 ms
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, START);
+        wheel.add("near", START + 50);
+        wheel.add("middle", START + 300);
+        wheel.add("far", START + 4_000);
+
+        // When
+        List<String> fired = new ArrayList<>();
+        List<Long> firedAt = new ArrayList<>();
+        for (long now = START; now <= START + 5_000; now += 10) {
+            for (String item : wheel.advanceTo(now)) {
+                fired.add(item);
+                firedAt.add(now);
+            }
+        }
+
+        // Then
+        assertThat(fired).containsExactly("near", "middle", "far");
+        assertThat(firedAt).containsExactly(START + 50, START + 300, START + 4_000);
+    }
+
+    @Test
+    void advanceTo_WithLargeClockJump_ShouldReleaseEverythingDue() {
+        // Given
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(10, 16, START);
+        for (int i = 1; i <= 1_000; i++) {
+            wheel.add(i, START + i * 37L);
+        }
+
+        // When
+        List<Integer> firstHalf = wheel.advanceTo(START + 18_500);
+        List<Integer> rest = wheel.advanceTo(START + 40_000);
+
+        // Then
+        assertThat(firstHalf).hasSize(500);
+        assertThat(rest).hasSize(500);
+        assertThat(wheel.size()).isZero();
+    }
+}
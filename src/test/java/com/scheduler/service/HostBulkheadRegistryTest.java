@@ -0,0 +1,88 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HostBulkheadRegistryTest {
+
+    private ApplicationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private HostBulkheadRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApplicationProperties();
+        properties.getJob().getBulkhead().setDefaultMaxConcurrent(2);
+        properties.getJob().getBulkhead().setMaxQueued(1);
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new HostBulkheadRegistry(properties, meterRegistry, Runnable::run);
+    }
+
+    @Test
+    void execute_BeyondHostLimit_ShouldQueueThenShedOnlyThatHost() {
+        // Given
+        CompletableFuture<Integer> slowResponse = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        // When
+        CompletableFuture<Integer> first = registry.execute("https://slow.example.com/a", null, () -> { started.incrementAndGet(); return slowResponse; });
+        CompletableFuture<Integer> second = registry.execute("https://slow.example.com/b", null, () -> { started.incrementAndGet(); return slowResponse; });
+        CompletableFuture<Integer> queued = registry.execute("https://slow.example.com/c", null, () -> { started.incrementAndGet(); return CompletableFuture.completedFuture(200); });
+        CompletableFuture<Integer> shed = registry.execute("https://slow.example.com/d", null, () -> { started.incrementAndGet(); return CompletableFuture.completedFuture(200); });
+        CompletableFuture<Integer> otherHost = registry.execute("https://fast.example.com/a", null, () -> CompletableFuture.completedFuture(200));
+
+        // Then
+        assertThat(started).hasValue(2);
+        assertThat(registry.inFlight("slow.example.com")).isEqualTo(2);
+        assertThat(queued).isNotDone();
+        assertThat(shed).isCompletedExceptionally();
+        assertThat(shed.handle((value, error) -> error)).isCompletedWithValueMatching(error -> error instanceof BulkheadFullException);
+        assertThat(otherHost).isCompletedWithValue(200);
+        assertThat(meterRegistry.get("scheduler.bulkhead.rejected").tag("host", "slow.example.com").counter().count()).isEqualTo(1.0);
+
+        // When the slow calls complete, the queued call takes a freed slot
+        slowResponse.complete(200);
+
+        // Then
+        assertThat(first).isCompletedWithValue(200);
+        assertThat(second).isCompletedWithValue(200);
+        assertThat(queued).isCompletedWithValue(200);
+        assertThat(registry.inFlight("slow.example.com")).isZero();
+    }
+
+    @Test
+    void execute_WithPerHostAndPerJobLimits_ShouldUseMostSpecificLimit() {
+        // Given
+        properties.getJob().getBulkhead().getHostLimits().put("limited.example.com:8443", 1);
+        CompletableFuture<Integer> pending = new CompletableFuture<>();
+
+        // When
+        registry.execute("https://limited.example.com:8443/a", null, () -> pending);
+        CompletableFuture<Integer> overLimit = registry.execute("https://limited.example.com:8443/b", null, () -> pending);
+        CompletableFuture<Integer> overridden = registry.execute("https://limited.example.com:8443/c", 5, () -> CompletableFuture.completedFuture(204));
+
+        // Then
+        assertThat(overLimit).isNotDone();
+        assertThat(overridden).isCompletedWithValue(204);
+    }
+
+    @Test
+    void execute_WhenCallThrows_ShouldReleaseSlot() {
+        // When
+        CompletableFuture<Integer> failed = registry.execute("https://broken.example.com", null, () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        // Then
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(registry.inFlight("broken.example.com")).isZero();
+    }
+}
@@ -0,0 +1,125 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.exception.BulkheadFullException;
+import com.scheduler.exception.CircuitOpenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HostCircuitBreakerRegistryTest {
+
+    private static final String DOWN_URL = "https://down.example.com/webhook";
+
+    private ApplicationProperties properties;
+    private HostCircuitBreakerRegistry registry;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApplicationProperties();
+        ApplicationProperties.Job.CircuitBreaker config = properties.getJob().getCircuitBreaker();
+        config.setSlidingWindowSize(4);
+        config.setMinimumCalls(4);
+        config.setFailureRateThreshold(50);
+        config.setOpenDurationSeconds(60);
+        registry = new HostCircuitBreakerRegistry(properties, new SimpleMeterRegistry(), Clock.systemUTC());
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void execute_WhenFailureRateCrossesThreshold_ShouldOpenAndFailFast() {
+        // When
+        call(DOWN_URL, 200);
+        call(DOWN_URL, 503);
+        call(DOWN_URL, 200);
+        callFailing(DOWN_URL);
+        CompletableFuture<Integer> shortCircuited = call(DOWN_URL, 200);
+
+        // Then
+        assertThat(calls).hasValue(4);
+        assertThat(shortCircuited.handle((value, error) -> error)).isCompletedWithValueMatching(error -> error instanceof CircuitOpenException);
+        assertThat(registry.isOpen(DOWN_URL)).isTrue();
+        assertThat(registry.snapshot().get("down.example.com").state()).isEqualTo(HostCircuitBreakerRegistry.State.OPEN);
+        assertThat(registry.snapshot().get("down.example.com").notPermittedCalls()).isEqualTo(1);
+
+        // Other hosts are unaffected
+        assertThat(call("https://up.example.com/webhook", 200)).isCompletedWithValue(200);
+    }
+
+    @Test
+    void execute_WithBelowMinimumCallsOrShedCalls_ShouldStayClosed() {
+        // When
+        callFailing(DOWN_URL);
+        callFailing(DOWN_URL);
+        callFailing(DOWN_URL);
+        registry.execute(DOWN_URL, () -> CompletableFuture.failedFuture(new BulkheadFullException("full")));
+
+        // Then
+        assertThat(registry.isOpen(DOWN_URL)).isFalse();
+        assertThat(registry.snapshot().get("down.example.com").bufferedCalls()).isEqualTo(3);
+    }
+
+    @Test
+    void execute_WhenHalfOpen_ShouldLetSingleProbeThroughThenClose() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            callFailing(DOWN_URL);
+        }
+        properties.getJob().getCircuitBreaker().setOpenDurationSeconds(0);
+        CompletableFuture<Integer> probeResponse = new CompletableFuture<>();
+
+        // When
+        CompletableFuture<Integer> probe = registry.execute(DOWN_URL, () -> probeResponse);
+        CompletableFuture<Integer> concurrent = call(DOWN_URL, 200);
+
+        // Then
+        assertThat(registry.snapshot().get("down.example.com").state()).isEqualTo(HostCircuitBreakerRegistry.State.HALF_OPEN);
+        assertThat(concurrent).isCompletedExceptionally();
+
+        // When the probe succeeds
+        probeResponse.complete(200);
+
+        // Then
+        assertThat(probe).isCompletedWithValue(200);
+        assertThat(registry.snapshot().get("down.example.com").state()).isEqualTo(HostCircuitBreakerRegistry.State.CLOSED);
+        assertThat(call(DOWN_URL, 200)).isCompletedWithValue(200);
+    }
+
+    @Test
+    void execute_WhenProbeFails_ShouldReopen() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            callFailing(DOWN_URL);
+        }
+        properties.getJob().getCircuitBreaker().setOpenDurationSeconds(0);
+
+        // When
+        callFailing(DOWN_URL);
+        properties.getJob().getCircuitBreaker().setOpenDurationSeconds(60);
+
+        // Then
+        assertThat(registry.isOpen(DOWN_URL)).isTrue();
+        assertThat(call(DOWN_URL, 200)).isCompletedExceptionally();
+    }
+
+    private CompletableFuture<Integer> call(String url, int statusCode) {
+        return registry.execute(url, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(statusCode);
+        });
+    }
+
+    private CompletableFuture<Integer> callFailing(String url) {
+        return registry.execute(url, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new RuntimeException("Connection refused"));
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.entity.ExecutionType;
+import com.scheduler.entity.Job;
+import com.scheduler.repository.JobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobDefinitionCacheTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JobDefinitionCache jobDefinitions;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getScheduler().setJobCacheSize(2);
+        jobDefinitions = new JobDefinitionCache(jobRepository, properties, meterRegistry);
+    }
+
+    @Test
+    void getAll_ShouldServeCachedJobsAndLoadMissesInOneQuery() {
+        // Given
+        jobDefinitions.put(job("job-1", true));
+        when(jobRepository.findAllById(List.of("job-2"))).thenReturn(List.of(job("job-2", true)));
+
+        // When
+        Map<String, JobDefinition> definitions = jobDefinitions.getAll(List.of("job-1", "job-2"));
+
+        // Then
+        assertThat(definitions).containsOnlyKeys("job-1", "job-2");
+        verify(jobRepository).findAllById(List.of("job-2"));
+        assertThat(meterRegistry.get("scheduler.job.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("scheduler.job.cache").tag("result", "miss").counter().count()).isEqualTo(1);
+
+        // When: both are cached now
+        jobDefinitions.getAll(List.of("job-1", "job-2"));
+
+        // Then
+        verifyNoMoreInteractions(jobRepository);
+    }
+
+    @Test
+    void put_WithInactiveJob_ShouldEvictIt() {
+        // Given
+        jobDefinitions.put(job("job-1", true));
+
+        // When
+        JobDefinition definition = jobDefinitions.put(job("job-1", false));
+
+        // Then
+        assertThat(definition.id()).isEqualTo("job-1");
+        assertThat(jobDefinitions.size()).isZero();
+    }
+
+    @Test
+    void put_BeyondCacheSize_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        jobDefinitions.put(job("job-1", true));
+        jobDefinitions.put(job("job-2", true));
+        jobDefinitions.getAll(List.of("job-1"));
+
+        // When
+        jobDefinitions.put(job("job-3", true));
+
+        // Then
+        assertThat(jobDefinitions.size()).isEqualTo(2);
+        when(jobRepository.findAllById(any())).thenReturn(List.of());
+        assertThat(jobDefinitions.getAll(List.of("job-1", "job-2", "job-3"))).containsOnlyKeys("job-1", "job-3");
+        verify(jobRepository).findAllById(List.of("job-2"));
+    }
+
+    private static Job job(String id, boolean active) {
+        return Job.builder()
+            .id(id)
+            .schedule("0 */5 * * * *")
+            .apiUrl("https://api.example.com/" + id)
+            .executionType(ExecutionType.ATLEAST_ONCE)
+            .isActive(active)
+            .build();
+    }
+}
@@ -0,0 +1,266 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.entity.ExecutionStatus;
+import com.scheduler.entity.ExecutionType;
+import com.scheduler.entity.JobExecution;
+import com.scheduler.exception.BulkheadFullException;
+import com.scheduler.exception.CircuitOpenException;
+import com.scheduler.repository.JobExecutionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobExecutionServiceTest {
+
+    @Mock
+    private JobExecutionRepository jobExecutionRepository;
+
+    @Mock
+    private ApiClientService apiClientService;
+
+    @Mock
+    private HostBulkheadRegistry hostBulkheads;
+
+    @Mock
+    private HostCircuitBreakerRegistry circuitBreakers;
+
+    @Mock
+    private RetryScheduler retryScheduler;
+
+    @Mock
+    private ExecutionHeartbeat heartbeat;
+
+    @Mock
+    private SchedulerNode schedulerNode;
+
+    @Spy
+    private Clock clock = Clock.system(ZoneId.of("Asia/Kolkata"));
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private JobExecutionService jobExecutionService;
+
+    private ExecutionContext context;
+
+    @BeforeEach
+    void setUp() {
+        JobDefinition job = new JobDefinition("job-123", "https://api.example.com/webhook", ExecutionType.ATLEAST_ONCE, null);
+        JobExecution execution = JobExecution.builder()
+            .id("execution-123")
+            .jobId("job-123")
+            .status(ExecutionStatus.PENDING)
+            .scheduledTime(ZonedDateTime.now().minusSeconds(2))
+            .retryCount(0)
+            .build();
+        context = ExecutionContext.of(job, execution);
+
+        lenient().when(hostBulkheads.execute(anyString(), any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<CompletableFuture<Integer>>>getArgument(2).get());
+        lenient().when(schedulerNode.getId()).thenReturn("node-1");
+        lenient().when(jobExecutionRepository.recordResult(anyString(), any(), any(), anyLong(), any(), any())).thenReturn(1);
+        lenient().when(circuitBreakers.execute(anyString(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<CompletableFuture<Integer>>>getArgument(1).get());
+    }
+
+    @Test
+    void execute_WithSuccessfulCall_ShouldMarkRunningThenRecordSuccess() {
+        // Given
+        when(jobExecutionRepository.markRunning(eq("execution-123"), any(ZonedDateTime.class), eq("node-1"))).thenReturn(1);
+        when(apiClientService.executeApiCallAsync("https://api.example.com/webhook", HttpMethod.GET, "execution-123", null))
+            .thenReturn(CompletableFuture.completedFuture(200));
+
+        // When
+        jobExecutionService.execute(context);
+
+        // Then
+        var inOrder = inOrder(jobExecutionRepository, apiClientService);
+        inOrder.verify(jobExecutionRepository).markRunning(eq("execution-123"), any(ZonedDateTime.class), eq("node-1"));
+        inOrder.verify(apiClientService).executeApiCallAsync(anyString(), eq(HttpMethod.GET), eq("execution-123"), isNull());
+        inOrder.verify(jobExecutionRepository).recordResult(eq("execution-123"), eq(ExecutionStatus.SUCCESS),
+            any(ZonedDateTime.class), anyLong(), eq(200), isNull());
+        verify(jobExecutionRepository, never()).findById(anyString());
+        verify(jobExecutionRepository, never()).save(any(JobExecution.class));
+        assertThat(meterRegistry.get("scheduler.execution.lag").tag("attempt", "first").timer().totalTime(TimeUnit.SECONDS))
+            .isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void execute_WithConnectionError_ShouldRecordFailure() {
+        // Given
+        when(jobExecutionRepository.markRunning(eq("execution-123"), any(ZonedDateTime.class), eq("node-1"))).thenReturn(1);
+        when(apiClientService.executeApiCallAsync(anyString(), any(HttpMethod.class), anyString(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Connection refused")));
+
+        // When
+        jobExecutionService.execute(context);
+
+        // Then
+        verify(jobExecutionRepository).recordResult(eq("execution-123"), eq(ExecutionStatus.FAILED),
+            any(ZonedDateTime.class), anyLong(), eq(500), isNull());
+    }
+
+    @Test
+    void execute_WhenExecutionAlreadyPickedUp_ShouldNotCallApi() {
+        // Given
+        when(jobExecutionRepository.markRunning(eq("execution-123"), any(ZonedDateTime.class), eq("node-1"))).thenReturn(0);
+
+        // When
+        jobExecutionService.execute(context);
+
+        // Then
+        verifyNoInteractions(apiClientService);
+        verify(jobExecutionRepository, never()).recordResult(anyString(), any(), any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void execute_WithPendingAsyncCall_ShouldRecordResultOnlyWhenResponseArrives() {
+        // Given
+        CompletableFuture<Integer> response = new CompletableFuture<>();
+        when(jobExecutionRepository.markRunning(eq("execution-123"), any(ZonedDateTime.class), eq("node-1"))).thenReturn(1);
+        when(apiClientService.executeApiCallAsync(anyString(), any(HttpMethod.class), anyString(), any()))
+            .thenReturn(response);
+
+        // When
+        jobExecutionService.execute(context);
+
+        // Then
+        verify(jobExecutionRepository, never()).recordResult(anyString(), any(), any(), anyLong(), any(), any());
+        verify(heartbeat).register("execution-123");
+        verify(heartbeat, never()).unregister(anyString());
+
+        response.complete(503);
+        verify(heartbeat).unregister("execution-123");
+        verify(jobExecutionRepository).recordResult(eq("execution-123"), eq(ExecutionStatus.FAILED),
+            any(ZonedDateTime.class), anyLong(), eq(503), isNull());
+    }
+
+    @Test
+    void execute_WhenHostBulkheadIsFull_ShouldFailWithoutCallingApi() {
+        // Given
+        when(jobExecutionRepository.markRunning(eq("execution-123"), any(ZonedDateTime.class), eq("node-1"))).thenReturn(1);
+        doReturn(CompletableFuture.failedFuture(new BulkheadFullException("Too many concurrent calls to host api.example.com")))
+            .when(hostBulkheads).execute(anyString(), any(), any());
+
+        // When
+        jobExecutionService.execute(context);
+
+        // Then
+        verifyNoInteractions(apiClientService);
+        verify(jobExecutionRepository).recordResult(eq("execution-123"), eq(ExecutionStatus.FAILED),
+            any(ZonedDateTime.class), anyLong(), isNull(), isNull());
+    }
+
+    @Test
+    void execute_WhenHostBulkheadIsFullBehindClosedCircuit_ShouldRecordShedWithoutStatusCode() {
+        // Given: the real breaker and bulkhead, with no slot or queue room for the host
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getJob().getBulkhead().setDefaultMaxConcurrent(0);
+        properties.getJob().getBulkhead().setMaxQueued(0);
+        JobExecutionService service = new JobExecutionService(jobExecutionRepository, apiClientService,
+            new HostBulkheadRegistry(properties, meterRegistry, Runnable::run),
+            new HostCircuitBreakerRegistry(properties, meterRegistry, clock),
+            retryScheduler, heartbeat, schedulerNode, clock, meterRegistry);
+        when(jobExecutionRepository.markRunning(eq("execution-123"), any(ZonedDateTime.class), eq("node-1"))).thenReturn(1);
+
+        // When
+        service.execute(context);
+
+        // Then: recorded as shed, not as a 500 from the endpoint
+        verifyNoInteractions(apiClientService);
+        verify(jobExecutionRepository).recordResult(eq("execution-123"), eq(ExecutionStatus.FAILED),
+            any(ZonedDateTime.class), anyLong(), isNull(), isNull());
+    }
+
+    @Test
+    void execute_WhenHostCircuitIsOpen_ShouldFailFastWithoutCallingApi() {
+        // Given
+        when(jobExecutionRepository.markRunning(eq("execution-123"), any(ZonedDateTime.class), eq("node-1"))).thenReturn(1);
+        doReturn(CompletableFuture.failedFuture(new CircuitOpenException("Circuit open for host api.example.com")))
+            .when(circuitBreakers).execute(anyString(), any());
+
+        // When
+        jobExecutionService.execute(context);
+
+        // Then
+        verifyNoInteractions(apiClientService, hostBulkheads);
+        verify(jobExecutionRepository).recordResult(eq("execution-123"), eq(ExecutionStatus.FAILED),
+            any(ZonedDateTime.class), anyLong(), isNull(), isNull());
+    }
+
+    @Test
+    void execute_WithRetriesLeft_ShouldRecordNextRetryAtAndQueueRetry() {
+        // Given
+        ZonedDateTime nextRetryAt = ZonedDateTime.now().plusSeconds(1);
+        when(jobExecutionRepository.markRunning(eq("execution-123"), any(ZonedDateTime.class), eq("node-1"))).thenReturn(1);
+        when(apiClientService.executeApiCallAsync(anyString(), any(HttpMethod.class), anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(502));
+        when(retryScheduler.nextRetryAt(eq(0), any(ZonedDateTime.class))).thenReturn(nextRetryAt);
+
+        // When
+        jobExecutionService.execute(context);
+
+        // Then
+        verify(jobExecutionRepository).recordResult(eq("execution-123"), eq(ExecutionStatus.FAILED),
+            any(ZonedDateTime.class), anyLong(), eq(502), eq(nextRetryAt));
+        verify(retryScheduler).schedule("execution-123", "job-123", 0, nextRetryAt);
+    }
+
+    @Test
+    void recordRejected_ShouldFailPendingExecutionWithRetry() {
+        // Given
+        ZonedDateTime nextRetryAt = ZonedDateTime.now().plusSeconds(1);
+        when(retryScheduler.nextRetryAt(eq(0), any(ZonedDateTime.class))).thenReturn(nextRetryAt);
+        when(jobExecutionRepository.failPending(eq("execution-123"), any(ZonedDateTime.class), eq(nextRetryAt))).thenReturn(1);
+
+        // When
+        jobExecutionService.recordRejected(context);
+
+        // Then
+        verify(jobExecutionRepository, never()).markRunning(anyString(), any(), anyString());
+        verify(retryScheduler).schedule("execution-123", "job-123", 0, nextRetryAt);
+    }
+
+    @Test
+    void execute_WhenStaleSweepFailedExecutionMeanwhile_ShouldNotQueueAnotherRetry() {
+        // Given
+        ZonedDateTime nextRetryAt = ZonedDateTime.now().plusSeconds(1);
+        when(jobExecutionRepository.markRunning(eq("execution-123"), any(ZonedDateTime.class), eq("node-1"))).thenReturn(1);
+        when(apiClientService.executeApiCallAsync(anyString(), any(HttpMethod.class), anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(502));
+        when(retryScheduler.nextRetryAt(eq(0), any(ZonedDateTime.class))).thenReturn(nextRetryAt);
+        when(jobExecutionRepository.recordResult(anyString(), any(), any(), anyLong(), any(), any())).thenReturn(0);
+
+        // When
+        jobExecutionService.execute(context);
+
+        // Then: the row is no longer RUNNING, so the late result is discarded
+        verify(retryScheduler, never()).schedule(anyString(), anyString(), anyInt(), any());
+    }
+}
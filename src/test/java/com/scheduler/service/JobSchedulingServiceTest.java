@@ -1,23 +1,37 @@
 package com.scheduler.service;
 
+import com.scheduler.config.ApplicationProperties;
 import com.scheduler.entity.ExecutionStatus;
 import com.scheduler.entity.Job;
 import com.scheduler.entity.JobExecution;
+import com.scheduler.entity.JobShards;
 import com.scheduler.repository.JobExecutionRepository;
 import com.scheduler.repository.JobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -31,11 +45,35 @@ class JobSchedulingServiceTest {
     private JobExecutionRepository jobExecutionRepository;
 
     @Mock
-    private JobExecutionService jobExecutionService;
+    private ExecutionReleaser executionReleaser;
 
     @Mock
     private CronService cronService;
 
+    @Mock
+    private ApplicationProperties properties;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private JobExecutorMonitor jobExecutorMonitor;
+
+    @Mock
+    private JobDefinitionCache jobDefinitions;
+
+    @Mock
+    private SchedulerNode schedulerNode;
+
+    @Mock
+    private SchedulerMembership membership;
+
+    @Spy
+    private Clock clock = Clock.system(ZoneId.of("Asia/Kolkata"));
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private JobSchedulingService jobSchedulingService;
 
@@ -44,6 +82,17 @@ class JobSchedulingServiceTest {
 
     @BeforeEach
     void setUp() {
+        ApplicationProperties.Scheduler scheduler = new ApplicationProperties.Scheduler();
+        scheduler.setMode(ApplicationProperties.Scheduler.Mode.POLLING);
+        lenient().when(properties.getScheduler()).thenReturn(scheduler);
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(schedulerNode.getId()).thenReturn("node-1");
+        lenient().when(membership.ownedShards()).thenReturn(JobShards.ALL);
+        lenient().when(jobExecutorMonitor.remainingCapacity()).thenReturn(Integer.MAX_VALUE);
+        lenient().when(jobDefinitions.put(any(Job.class)))
+            .thenAnswer(invocation -> JobDefinition.of(invocation.getArgument(0)));
+
         readyJob = Job.builder()
             .id("job-123")
             .schedule("0 */5 * * * *")
@@ -66,52 +115,115 @@ class JobSchedulingServiceTest {
     @Test
     void scheduleJobs_WithNoJobsReady_ShouldDoNothing() {
         // Given
-        when(jobRepository.findJobsForExecution(any(ZonedDateTime.class))).thenReturn(Arrays.asList());
+        givenLeasedBatches(List.of());
 
         // When
         jobSchedulingService.scheduleJobs();
 
         // Then
-        verify(jobRepository).findJobsForExecution(any(ZonedDateTime.class));
+        verify(jobRepository).leaseDueJobs(eq(JobShards.ALL), eq("node-1"), any(byte[].class), any(ZonedDateTime.class), any(ZonedDateTime.class), any(ZonedDateTime.class), anyInt());
         verify(jobExecutionRepository, never()).save(any(JobExecution.class));
         verify(cronService, never()).getNextExecutionTime(anyString(), any(ZonedDateTime.class));
         verify(jobRepository, never()).save(any(Job.class));
-        verify(jobExecutionService, never()).execute(anyString());
+        verify(executionReleaser, never()).release(any(ExecutionContext.class), anyString());
     }
 
 
     @Test
     void scheduleJobs_ShouldUpdateJobWithNextExecutionTime() {
         // Given
+        ZonedDateTime dueTime = readyJob.getNextExecutionTime();
         ZonedDateTime nextExecutionTime = ZonedDateTime.now().plusMinutes(10);
-        when(jobRepository.findJobsForExecution(any(ZonedDateTime.class))).thenReturn(Arrays.asList(readyJob));
-        when(jobExecutionRepository.save(any(JobExecution.class))).thenReturn(savedExecution);
+        givenLeasedBatches(List.of(readyJob));
         when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class)))
             .thenReturn(nextExecutionTime);
-        when(jobRepository.save(any(Job.class))).thenReturn(readyJob);
 
         // When
         jobSchedulingService.scheduleJobs();
 
         // Then
-        verify(jobRepository).save(argThat(job -> 
-            job.getId().equals("job-123") &&
-            job.getNextExecutionTime().equals(nextExecutionTime)));
+        verify(jobRepository).saveAll(argThat(jobs -> {
+            Job job = jobs.iterator().next();
+            return job.getId().equals("job-123") && job.getNextExecutionTime().equals(nextExecutionTime);
+        }));
+        // The execution keeps the time the job was due, so schedule lag stays visible
+        verify(jobExecutionRepository).saveAll(argThat(executions ->
+            executions.iterator().next().getScheduledTime().equals(dueTime)));
+    }
+
+    @Test
+    void scheduleJobs_WithSharedSchedule_ShouldComputeNextExecutionTimeOncePerBatch() {
+        // Given
+        Job sameScheduleJob = Job.builder()
+            .id("job-456")
+            .schedule(" 0  */5 * * * * ")
+            .apiUrl("https://api.example.com/webhook")
+            .executionType(com.scheduler.entity.ExecutionType.ATLEAST_ONCE)
+            .isActive(true)
+            .nextExecutionTime(ZonedDateTime.now().minusSeconds(30))
+            .build();
+        Job otherScheduleJob = Job.builder()
+            .id("job-789")
+            .schedule("0 0 * * * *")
+            .apiUrl("https://api.example.com/webhook")
+            .executionType(com.scheduler.entity.ExecutionType.ATLEAST_ONCE)
+            .isActive(true)
+            .nextExecutionTime(ZonedDateTime.now().minusSeconds(30))
+            .build();
+        ZonedDateTime nextExecutionTime = ZonedDateTime.now().plusMinutes(5);
+        givenLeasedBatches(List.of(readyJob, sameScheduleJob, otherScheduleJob));
+        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class)))
+            .thenReturn(nextExecutionTime);
+
+        // When
+        jobSchedulingService.scheduleJobs();
+
+        // Then
+        verify(cronService).getNextExecutionTime(eq("0 */5 * * * *"), any(ZonedDateTime.class));
+        verify(cronService).getNextExecutionTime(eq("0 0 * * * *"), any(ZonedDateTime.class));
+        assertThat(sameScheduleJob.getNextExecutionTime()).isEqualTo(nextExecutionTime);
+    }
+
+    @Test
+    void scheduleJobs_ShouldWriteBatchWithOneSaveAllPerTable() {
+        // Given
+        Job secondJob = Job.builder()
+            .id("job-456")
+            .schedule("0 */5 * * * *")
+            .apiUrl("https://api.example.com/webhook")
+            .executionType(com.scheduler.entity.ExecutionType.ATLEAST_ONCE)
+            .isActive(true)
+            .nextExecutionTime(ZonedDateTime.now().minusSeconds(30))
+            .build();
+        givenLeasedBatches(List.of(readyJob, secondJob));
+        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class)))
+            .thenReturn(ZonedDateTime.now().plusMinutes(5));
+
+        // When
+        jobSchedulingService.scheduleJobs();
+
+        // Then
+        verify(jobExecutionRepository).saveAll(argThat(executions -> executions.spliterator().getExactSizeIfKnown() == 2));
+        verify(jobRepository).saveAll(argThat(jobs -> jobs.spliterator().getExactSizeIfKnown() == 2));
+        verify(jobExecutionRepository, never()).save(any(JobExecution.class));
+        verify(jobRepository, never()).save(any(Job.class));
+        assertThat(meterRegistry.get("scheduler.tick.claimed").tag("mode", "polling").summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("scheduler.tick.duration").tag("mode", "polling").timer().count()).isEqualTo(1);
     }
 
     @Test
     void scheduleJobs_WithRepositoryException_ShouldNotPropagateException() {
         // Given
-        when(jobRepository.findJobsForExecution(any(ZonedDateTime.class)))
+        when(jobRepository.leaseDueJobs(anyList(), anyString(), any(byte[].class), any(ZonedDateTime.class), any(ZonedDateTime.class), any(ZonedDateTime.class), anyInt()))
             .thenThrow(new RuntimeException("Database connection error"));
 
         // When & Then - Should not throw exception
         jobSchedulingService.scheduleJobs();
 
         // Then
-        verify(jobRepository).findJobsForExecution(any(ZonedDateTime.class));
+        verify(jobRepository).leaseDueJobs(eq(JobShards.ALL), eq("node-1"), any(byte[].class), any(ZonedDateTime.class), any(ZonedDateTime.class), any(ZonedDateTime.class), anyInt());
         verify(jobExecutionRepository, never()).save(any(JobExecution.class));
-        verify(jobExecutionService, never()).execute(anyString());
+        verify(executionReleaser, never()).release(any(ExecutionContext.class), anyString());
     }
 
 
@@ -128,14 +240,281 @@ class JobSchedulingServiceTest {
             .build();
 
         // The repository query should not return inactive jobs, but let's test the behavior
-        when(jobRepository.findJobsForExecution(any(ZonedDateTime.class))).thenReturn(Arrays.asList());
+        givenLeasedBatches(List.of());
 
         // When
         jobSchedulingService.scheduleJobs();
 
         // Then
-        verify(jobRepository).findJobsForExecution(any(ZonedDateTime.class));
+        verify(jobRepository).leaseDueJobs(eq(JobShards.ALL), eq("node-1"), any(byte[].class), any(ZonedDateTime.class), any(ZonedDateTime.class), any(ZonedDateTime.class), anyInt());
         verify(jobExecutionRepository, never()).save(any(JobExecution.class));
-        verify(jobExecutionService, never()).execute(anyString());
+        verify(executionReleaser, never()).release(any(ExecutionContext.class), anyString());
+    }
+
+    @Test
+    void scheduleJobs_InWheelMode_ShouldNotPollRepository() {
+        // Given
+        properties.getScheduler().setMode(ApplicationProperties.Scheduler.Mode.WHEEL);
+
+        // When
+        jobSchedulingService.scheduleJobs();
+
+        // Then
+        verify(jobRepository, never()).leaseDueJobs(anyList(), anyString(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void dispatchJobs_ShouldClaimOnlyGivenJobsAndAdvanceNextExecutionTime() {
+        // Given
+        ZonedDateTime now = ZonedDateTime.now();
+        ZonedDateTime nextExecutionTime = now.plusMinutes(5);
+        when(jobRepository.leaseJobs(eq(List.of("job-123")), eq(JobShards.ALL), eq("node-1"), anyString(), eq(now.plusSeconds(30)), eq(now), any()))
+            .thenReturn(1);
+        when(jobRepository.findByLeaseToken(anyString())).thenReturn(List.of(readyJob));
+        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class)))
+            .thenReturn(nextExecutionTime);
+
+        // When
+        List<Job> claimedJobs = jobSchedulingService.dispatchJobs(List.of("job-123"), now);
+
+        // Then
+        verify(jobExecutionRepository).saveAll(argThat(executions -> executions.iterator().next().getJobId().equals("job-123")));
+        assertThat(claimedJobs).containsExactly(readyJob);
+        assertThat(readyJob.getNextExecutionTime()).isEqualTo(nextExecutionTime);
+    }
+
+    @Test
+    void dispatchJobs_WithJobDueWithinLookaheadWindow_ShouldClaimItAndReleaseItAtItsDueTime() {
+        // Given
+        ZonedDateTime now = ZonedDateTime.now();
+        ZonedDateTime dueTime = now.plusSeconds(3);
+        readyJob.setNextExecutionTime(dueTime);
+        when(jobRepository.leaseJobs(eq(List.of("job-123")), eq(JobShards.ALL), eq("node-1"), anyString(), any(), eq(now),
+            eq(now.plusSeconds(5)))).thenReturn(1);
+        when(jobRepository.findByLeaseToken(anyString())).thenReturn(List.of(readyJob));
+        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class)))
+            .thenReturn(dueTime.plusMinutes(5));
+
+        // When
+        jobSchedulingService.dispatchJobs(List.of("job-123"), now);
+
+        // Then
+        verify(cronService).getNextExecutionTime("0 */5 * * * *", dueTime);
+        verify(executionReleaser).release(argThat(execution -> execution.scheduledTime().equals(dueTime)), eq("wheel"));
+    }
+
+    @Test
+    void scheduleJobs_ShouldExecuteClaimedJobsAfterBatchCommits() {
+        // Given
+        givenLeasedBatches(List.of(readyJob));
+        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class)))
+            .thenReturn(ZonedDateTime.now().plusMinutes(5));
+
+        // When
+        jobSchedulingService.scheduleJobs();
+
+        // Then
+        verify(transactionTemplate).execute(any());
+        verify(executionReleaser).release(any(ExecutionContext.class), eq("polling"));
+    }
+
+    @Test
+    void scheduleJobs_WithFullBatches_ShouldKeepClaimingUntilBacklogDrains() {
+        // Given
+        properties.getScheduler().getClaim().setBatchSize(1);
+        Job secondJob = Job.builder()
+            .id("job-456")
+            .schedule("0 */5 * * * *")
+            .apiUrl("https://api.example.com/webhook")
+            .executionType(com.scheduler.entity.ExecutionType.ATLEAST_ONCE)
+            .isActive(true)
+            .nextExecutionTime(ZonedDateTime.now().minusSeconds(30))
+            .build();
+        givenLeasedBatches(List.of(readyJob), List.of(secondJob), List.of());
+        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class)))
+            .thenReturn(ZonedDateTime.now().plusMinutes(5));
+
+        // When
+        jobSchedulingService.scheduleJobs();
+
+        // Then
+        verify(jobRepository, times(3)).leaseDueJobs(anyList(), anyString(), any(byte[].class), any(ZonedDateTime.class), any(ZonedDateTime.class), any(ZonedDateTime.class), eq(1));
+        verify(executionReleaser, times(2)).release(any(ExecutionContext.class), eq("polling"));
+    }
+
+    @Test
+    void scheduleJobs_ShouldLeaseBatchThenReleaseLeaseOfDispatchedJobs() {
+        // Given
+        readyJob.setLeaseOwner("node-1");
+        readyJob.setLeaseToken("018e2f4a-7b10-7c3d-9a41-5f2e8b6c1d20");
+        readyJob.setLeaseUntil(ZonedDateTime.now().plusSeconds(30));
+        givenLeasedBatches(List.of(readyJob));
+        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class)))
+            .thenReturn(ZonedDateTime.now().plusMinutes(5));
+
+        // When
+        jobSchedulingService.scheduleJobs();
+
+        // Then: the lease is taken outside the dispatch transaction and expires after the lease duration
+        var inOrder = inOrder(jobRepository, transactionTemplate);
+        inOrder.verify(jobRepository).leaseDueJobs(eq(JobShards.ALL), eq("node-1"), argThat(token -> token.length == 16),
+            argThat(leaseUntil -> leaseUntil.isAfter(ZonedDateTime.now().plusSeconds(25))), any(ZonedDateTime.class),
+            any(ZonedDateTime.class), eq(500));
+        inOrder.verify(transactionTemplate).execute(any());
+        assertThat(readyJob.getLeaseOwner()).isNull();
+        assertThat(readyJob.getLeaseToken()).isNull();
+        assertThat(readyJob.getLeaseUntil()).isNull();
+    }
+
+    @Test
+    void scheduleJobs_ShouldClaimJobsDueWithinLookaheadWindow() {
+        // Given
+        givenLeasedBatches(List.of());
+
+        // When
+        jobSchedulingService.scheduleJobs();
+
+        // Then
+        verify(jobRepository).leaseDueJobs(anyList(), anyString(), any(byte[].class), any(ZonedDateTime.class),
+            any(ZonedDateTime.class), argThat(until -> until.isAfter(ZonedDateTime.now().plusSeconds(4))), anyInt());
+    }
+
+    @Test
+    void scheduleJobs_WithJobClaimedAheadOfTime_ShouldComputeNextFireAfterItsDueTime() {
+        // Given
+        ZonedDateTime dueTime = ZonedDateTime.now().plusSeconds(3);
+        readyJob.setNextExecutionTime(dueTime);
+        givenLeasedBatches(List.of(readyJob));
+        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class)))
+            .thenReturn(dueTime.plusMinutes(5));
+
+        // When
+        jobSchedulingService.scheduleJobs();
+
+        // Then
+        verify(cronService).getNextExecutionTime("0 */5 * * * *", dueTime);
+        verify(executionReleaser).release(argThat(execution -> execution.scheduledTime().equals(dueTime)), eq("polling"));
+    }
+
+    @Test
+    void scheduleJobs_WithSpreadWindow_ShouldFireAtJobOffsetAfterCronTime() {
+        // Given
+        readyJob.setId("018e2f4a-7b10-7c3d-9a41-5f2e8b6c1d20");
+        readyJob.setSpreadWindowSeconds(300);
+        Duration offset = CronService.spreadOffset(readyJob.getId(), 300);
+        ZonedDateTime cronTime = ZonedDateTime.now().plusMinutes(5);
+        givenLeasedBatches(List.of(readyJob));
+        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class))).thenReturn(cronTime);
+
+        // When
+        jobSchedulingService.scheduleJobs();
+
+        // Then
+        verify(cronService).getNextExecutionTime(eq("0 */5 * * * *"), argThat(after -> after.isBefore(ZonedDateTime.now().minus(offset).plusSeconds(1))));
+        assertThat(readyJob.getNextExecutionTime()).isEqualTo(cronTime.plus(offset));
+    }
+
+    @Test
+    void scheduleJobs_WithSpreadWindowAndNonUuidId_ShouldDispatchWithoutOffset() {
+        // Given
+        readyJob.setSpreadWindowSeconds(300);
+        readyJob.setLeaseOwner("node-1");
+        ZonedDateTime cronTime = ZonedDateTime.now().plusMinutes(5);
+        givenLeasedBatches(List.of(readyJob));
+        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class))).thenReturn(cronTime);
+
+        // When
+        jobSchedulingService.scheduleJobs();
+
+        // Then
+        assertThat(readyJob.getNextExecutionTime()).isEqualTo(cronTime);
+        assertThat(readyJob.getLeaseOwner()).isNull();
+        verify(executionReleaser).release(any(ExecutionContext.class), eq("polling"));
+    }
+
+    @Test
+    void scheduleJobs_WithNoOwnedShards_ShouldNotClaim() {
+        // Given
+        when(membership.ownedShards()).thenReturn(List.of());
+
+        // When
+        jobSchedulingService.scheduleJobs();
+
+        // Then
+        verify(jobRepository, never()).leaseDueJobs(anyList(), anyString(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void scheduleJobs_ShouldClaimNoMoreThanExecutorCanAccept() {
+        // Given: room for 100 executions, 40 of which are taken by executions parked for their time
+        when(jobExecutorMonitor.remainingCapacity()).thenReturn(100);
+        when(executionReleaser.parkedCount()).thenReturn(40);
+
+        // When
+        jobSchedulingService.scheduleJobs();
+
+        // Then
+        verify(jobRepository).leaseDueJobs(anyList(), anyString(), any(), any(), any(), any(), eq(60));
+    }
+
+    @Test
+    void scheduleJobs_WithExecutorFull_ShouldLeaveDueJobsUnclaimed() {
+        // Given
+        when(jobExecutorMonitor.remainingCapacity()).thenReturn(0);
+
+        // When
+        jobSchedulingService.scheduleJobs();
+
+        // Then
+        verify(jobRepository, never()).leaseDueJobs(anyList(), anyString(), any(), any(), any(), any(), anyInt());
+        verify(jobExecutionRepository, never()).saveAll(anyList());
+        assertThat(meterRegistry.get("scheduler.claim.saturated").tag("mode", "polling").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void dispatchJobs_WithExecutorNearlyFull_ShouldClaimOnlyWhatItCanAccept() {
+        // Given
+        ZonedDateTime now = ZonedDateTime.now();
+        when(jobExecutorMonitor.remainingCapacity()).thenReturn(1);
+
+        // When
+        jobSchedulingService.dispatchJobs(List.of("job-123", "job-456"), now);
+
+        // Then
+        verify(jobRepository).leaseJobs(eq(List.of("job-123")), eq(JobShards.ALL), eq("node-1"), anyString(), any(), eq(now), any());
+        assertThat(meterRegistry.get("scheduler.claim.saturated").tag("mode", "wheel").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void nextBatchSize_ShouldShrinkAsExecutorQueueFillsUp() {
+        // Given
+        ApplicationProperties.Scheduler.Claim claim = properties.getScheduler().getClaim();
+        claim.setBatchSize(500);
+        claim.setMinBatchSize(10);
+        claim.setQueueHighWatermark(0.8);
+
+        // When & Then
+        when(jobExecutorMonitor.queueFillRatio()).thenReturn(0.5);
+        assertThat(jobSchedulingService.nextBatchSize()).isEqualTo(500);
+
+        when(jobExecutorMonitor.queueFillRatio()).thenReturn(0.9);
+        assertThat(jobSchedulingService.nextBatchSize()).isEqualTo(250);
+
+        when(jobExecutorMonitor.queueFillRatio()).thenReturn(1.0);
+        assertThat(jobSchedulingService.nextBatchSize()).isEqualTo(10);
+    }
+
+    /**
+     * Each claim leases the next batch, which is then loaded by its lease token.
+     */
+    @SafeVarargs
+    private void givenLeasedBatches(List<Job>... batches) {
+        Integer[] sizes = Arrays.stream(batches).map(List::size).toArray(Integer[]::new);
+        when(jobRepository.leaseDueJobs(anyList(), anyString(), any(byte[].class), any(ZonedDateTime.class), any(ZonedDateTime.class), any(ZonedDateTime.class), anyInt()))
+            .thenReturn(sizes[0], Arrays.copyOfRange(sizes, 1, sizes.length));
+        Iterator<List<Job>> leased = Arrays.stream(batches).filter(batch -> !batch.isEmpty()).iterator();
+        if (leased.hasNext()) {
+            when(jobRepository.findByLeaseToken(anyString())).thenAnswer(invocation -> leased.next());
+        }
     }
 }
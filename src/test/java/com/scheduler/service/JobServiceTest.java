@@ -15,9 +15,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -41,6 +46,12 @@ class JobServiceTest {
     @Mock
     private CronService cronService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private Clock clock = Clock.system(ZoneId.of("Asia/Kolkata"));
+
     @InjectMocks
     private JobService jobService;
 
@@ -81,7 +92,7 @@ class JobServiceTest {
     @Test
     void createJob_WithValidJobSpec_ShouldReturnJobCreatedResponse() {
         // Given
-        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class)))
+        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class), any(Duration.class)))
             .thenReturn(ZonedDateTime.now().plusMinutes(5));
         when(jobRepository.save(any(Job.class))).thenReturn(savedJob);
 
@@ -92,6 +103,7 @@ class JobServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.jobId()).isEqualTo("job-123");
         verify(jobRepository).save(any(Job.class));
+        verify(eventPublisher).publishEvent(new JobScheduledEvent(savedJob));
     }
 
     @Test
@@ -102,7 +114,7 @@ class JobServiceTest {
             "https://api.example.com/webhook",
             "ATMOST_ONCE"
         );
-        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class)))
+        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class), any(Duration.class)))
             .thenReturn(ZonedDateTime.now().plusMinutes(5));
         when(jobRepository.save(any(Job.class))).thenReturn(savedJob);
 
@@ -115,6 +127,24 @@ class JobServiceTest {
         verify(jobRepository).save(any(Job.class));
     }
 
+    @Test
+    void createJob_WithSpreadWindow_ShouldOffsetFirstFireWithinWindow() {
+        // Given
+        JobSpec spreadSpec = new JobSpec("0 0 * * * *", "https://api.example.com/webhook", "ATLEAST_ONCE", null, 300);
+        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class), any(Duration.class)))
+            .thenReturn(ZonedDateTime.now().plusMinutes(5));
+        when(jobRepository.save(any(Job.class))).thenReturn(savedJob);
+
+        // When
+        jobService.createJob(spreadSpec);
+
+        // Then
+        verify(cronService).getNextExecutionTime(eq("0 0 * * * *"), any(ZonedDateTime.class),
+            argThat(offset -> !offset.isNegative() && offset.compareTo(Duration.ofSeconds(300)) < 0));
+        verify(jobRepository).save(argThat(job -> job.getSpreadWindowSeconds() == 300
+            && CronService.spreadOffset(job.getId(), 300).compareTo(Duration.ofSeconds(300)) < 0));
+    }
+
     @Test
     void createJob_WithInvalidExecutionType_ShouldThrowException() {
         // Given
@@ -133,7 +163,7 @@ class JobServiceTest {
     @Test
     void createJob_WithInvalidCronExpression_ShouldThrowException() {
         // Given
-        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class)))
+        when(cronService.getNextExecutionTime(anyString(), any(ZonedDateTime.class), any(Duration.class)))
             .thenThrow(new IllegalArgumentException("Invalid CRON expression"));
 
         // When & Then
@@ -145,7 +175,7 @@ class JobServiceTest {
     @Test
     void getJobExecutions_WithValidJobId_ShouldReturnExecutionList() {
         // Given
-        String jobId = "job-123";
+        String jobId = "018e2f4a-7b10-7c3d-9a41-5f2e8b6c1d20";
         List<JobExecution> executions = Arrays.asList(jobExecution);
         int currentPage =  0;
         int pageSize =  10;
@@ -173,7 +203,7 @@ class JobServiceTest {
     @Test
     void getJobExecutions_WithNonExistentJobId_ShouldThrowException() {
         // Given
-        String nonExistentJobId = "non-existent";
+        String nonExistentJobId = "018e2f4a-7b10-7c3d-9a41-000000000000";
         when(jobRepository.existsById(nonExistentJobId)).thenReturn(false);
 
         // When & Then
@@ -185,10 +215,20 @@ class JobServiceTest {
         verify(jobExecutionRepository, never()).findByJobId(anyString(),any());
     }
 
+    @Test
+    void getJobExecutions_WithMalformedJobId_ShouldThrowExceptionWithoutQuerying() {
+        // When & Then
+        assertThatThrownBy(() -> jobService.getPaginatedExecutions("non-existent",0,10))
+            .isInstanceOf(JobNotFoundException.class);
+
+        verify(jobRepository, never()).existsById(anyString());
+        verify(jobExecutionRepository, never()).findByJobId(anyString(),any());
+    }
+
     @Test
     void getJobExecutions_WithMultipleExecutions_ShouldReturnAllExecutions() {
         // Given
-        String jobId = "job-123";
+        String jobId = "018e2f4a-7b10-7c3d-9a41-5f2e8b6c1d20";
         JobExecution execution1 = JobExecution.builder()
             .id("execution-1")
             .jobId(jobId)
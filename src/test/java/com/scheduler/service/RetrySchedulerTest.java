@@ -0,0 +1,115 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.simulation.SimulatedClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetrySchedulerTest {
+
+    private ApplicationProperties properties;
+    private RetryScheduler retryScheduler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApplicationProperties();
+        properties.getJob().getRetry().setMaxAttempts(5);
+        properties.getJob().getRetry().setInitialDelayMs(1000);
+        properties.getJob().getRetry().setMultiplier(2.0);
+        retryScheduler = new RetryScheduler(properties, Clock.systemDefaultZone());
+    }
+
+    @Test
+    void calculateRetryDelay_ShouldUseExponentialBackoff() {
+        assertThat(retryScheduler.calculateRetryDelay(0)).isEqualTo(1000);
+        assertThat(retryScheduler.calculateRetryDelay(1)).isEqualTo(2000);
+        assertThat(retryScheduler.calculateRetryDelay(2)).isEqualTo(4000);
+        assertThat(retryScheduler.calculateRetryDelay(3)).isEqualTo(8000);
+    }
+
+    @Test
+    void nextRetryAt_ShouldAddBackoffUntilAttemptsAreExhausted() {
+        // Given
+        ZonedDateTime failedAt = ZonedDateTime.now();
+
+        // When & Then
+        assertThat(retryScheduler.nextRetryAt(1, failedAt)).isEqualTo(failedAt.plusSeconds(2));
+        assertThat(retryScheduler.nextRetryAt(5, failedAt)).isNull();
+    }
+
+    @Test
+    void takeDue_ShouldReleaseRetriesAtTheirDueTimeInOrder() throws Exception {
+        // Given
+        ZonedDateTime now = ZonedDateTime.now();
+        retryScheduler.schedule("later", "job-1", 0, now.plusNanos(150_000_000));
+        retryScheduler.schedule("sooner", "job-2", 0, now.plusNanos(50_000_000));
+
+        // When
+        List<RetryScheduler.DueRetry> first = retryScheduler.takeDue(10);
+        long firstAtMs = System.currentTimeMillis();
+        List<RetryScheduler.DueRetry> second = retryScheduler.takeDue(10);
+
+        // Then
+        assertThat(first).extracting(RetryScheduler.DueRetry::executionId).containsExactly("sooner");
+        assertThat(firstAtMs).isGreaterThanOrEqualTo(now.toInstant().toEpochMilli() + 50);
+        assertThat(second).extracting(RetryScheduler.DueRetry::executionId).containsExactly("later");
+    }
+
+    @Test
+    void schedule_BeyondHorizonOrAlreadyQueued_ShouldLeaveItForTheSweep() {
+        // Given
+        properties.getJob().getRetry().setHorizonSeconds(30);
+        ZonedDateTime now = ZonedDateTime.now();
+
+        // When & Then
+        assertThat(retryScheduler.schedule("execution-1", "job-1", 0, now.plusSeconds(5))).isTrue();
+        assertThat(retryScheduler.schedule("execution-1", "job-1", 0, now.plusSeconds(5))).isFalse();
+        assertThat(retryScheduler.schedule("execution-2", "job-1", 0, now.plusMinutes(5))).isFalse();
+        assertThat(retryScheduler.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pollDue_ShouldOnlyReturnRetriesDueByTheClock() {
+        // Given
+        SimulatedClock clock = new SimulatedClock(Instant.parse("2024-01-01T00:00:00Z"), ZoneId.of("Asia/Kolkata"));
+        RetryScheduler simulated = new RetryScheduler(properties, clock);
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        simulated.schedule("later", "job-1", 0, now.plusSeconds(20));
+        simulated.schedule("sooner", "job-2", 0, now.plusSeconds(10));
+
+        // When & Then
+        assertThat(simulated.pollDue(10)).isEmpty();
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(simulated.pollDue(10)).extracting(RetryScheduler.DueRetry::executionId).containsExactly("sooner");
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(simulated.pollDue(10)).extracting(RetryScheduler.DueRetry::executionId).containsExactly("later");
+        assertThat(simulated.size()).isZero();
+    }
+
+    @Test
+    void takeDue_ShouldJudgeDueTimesByTheSchedulerClock() throws Exception {
+        // Given: a simulated clock far behind the system clock
+        SimulatedClock clock = new SimulatedClock(Instant.parse("2024-01-01T00:00:00Z"), ZoneId.of("Asia/Kolkata"));
+        RetryScheduler simulated = new RetryScheduler(properties, clock);
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        simulated.schedule("later", "job-1", 0, now.plusSeconds(20));
+        simulated.schedule("sooner", "job-2", 0, now.plusSeconds(10));
+
+        // When
+        clock.advance(Duration.ofSeconds(10));
+        List<RetryScheduler.DueRetry> due = simulated.takeDue(10);
+
+        // Then
+        assertThat(due).extracting(RetryScheduler.DueRetry::executionId).containsExactly("sooner");
+        assertThat(simulated.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,107 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.entity.JobShards;
+import com.scheduler.repository.SchedulerNodeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerMembershipTest {
+
+    @Mock
+    private SchedulerNodeRepository nodeRepository;
+
+    @Mock
+    private SchedulerNode schedulerNode;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneId.of("Asia/Kolkata"));
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SchedulerMembership membership;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(schedulerNode.getId()).thenReturn("node-a");
+        membership = new SchedulerMembership(nodeRepository, schedulerNode, new ApplicationProperties(), clock, meterRegistry);
+    }
+
+    @Test
+    void ownedShards_BeforeFirstHeartbeat_ShouldBeAllShards() {
+        assertThat(membership.ownedShards()).isEqualTo(JobShards.ALL);
+    }
+
+    @Test
+    void heartbeat_ShouldRegisterNodeAndTakeItsShareOfShards() {
+        // Given
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        when(nodeRepository.findLiveNodeIds(now.minusSeconds(15))).thenReturn(List.of("node-a", "node-b"));
+
+        // When
+        membership.heartbeat();
+
+        // Then
+        verify(nodeRepository).heartbeat("node-a", now);
+        verify(nodeRepository).deleteNodesSilentSince(now.minusSeconds(150));
+        List<Integer> expected = new ConsistentHashRing(List.of("node-a", "node-b"), 64).shardsOf("node-a", JobShards.COUNT);
+        assertThat(membership.ownedShards()).isEqualTo(expected).isNotEmpty().hasSizeLessThan(JobShards.COUNT);
+        assertThat(meterRegistry.get("scheduler.nodes.live").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("scheduler.shards.owned").gauge().value()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void heartbeat_WhenOtherNodeDies_ShouldTakeOverItsShards() {
+        // Given
+        when(nodeRepository.findLiveNodeIds(any()))
+            .thenReturn(List.of("node-a", "node-b"))
+            .thenReturn(List.of("node-a"));
+        membership.heartbeat();
+
+        // When
+        membership.heartbeat();
+
+        // Then
+        assertThat(membership.ownedShards()).isEqualTo(JobShards.ALL);
+    }
+
+    @Test
+    void heartbeat_WhenMembershipCannotBeRead_ShouldKeepLastAssignment() {
+        // Given
+        when(nodeRepository.findLiveNodeIds(any()))
+            .thenReturn(List.of("node-a", "node-b"))
+            .thenThrow(new RuntimeException("Connection lost"));
+        membership.heartbeat();
+        List<Integer> owned = membership.ownedShards();
+
+        // When
+        membership.heartbeat();
+
+        // Then
+        assertThat(membership.ownedShards()).isEqualTo(owned);
+    }
+
+    @Test
+    void leave_ShouldRemoveNodeFromMembership() {
+        // When
+        membership.leave();
+
+        // Then
+        verify(nodeRepository).delete("node-a");
+    }
+}
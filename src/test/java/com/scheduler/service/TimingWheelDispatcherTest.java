@@ -0,0 +1,155 @@
+package com.scheduler.service;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.entity.Job;
+import com.scheduler.entity.JobShards;
+import com.scheduler.repository.JobRepository;
+import com.scheduler.simulation.SimulatedClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimingWheelDispatcherTest {
+
+    private static final String JOB_ID = "018e2f4a-7b10-7c3d-9a41-5f2e8b6c1d20";
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private JobSchedulingService jobSchedulingService;
+
+    @Mock
+    private SchedulerMembership membership;
+
+    private final SimulatedClock clock = new SimulatedClock(START, ZoneId.of("Asia/Kolkata"));
+
+    private final ApplicationProperties properties = new ApplicationProperties();
+
+    private TimingWheelDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        properties.getScheduler().setMode(ApplicationProperties.Scheduler.Mode.WHEEL);
+        properties.getScheduler().getClaim().setLookaheadMs(0);
+        lenient().when(membership.ownedShards()).thenReturn(JobShards.ALL);
+        dispatcher = new TimingWheelDispatcher(jobRepository, jobSchedulingService, membership, properties, clock);
+        dispatcher.start();
+        // Ticks are driven by the test in virtual time
+        dispatcher.stop();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    void tick_WithRefillThatReadTheJobBeforeItsDispatchCommitted_ShouldKeepTheNextFire() {
+        // Given: a job firing every 10 s, first at +1 s
+        ZonedDateTime firstFire = at(Duration.ofSeconds(1));
+        ZonedDateTime nextFire = at(Duration.ofSeconds(11));
+        when(jobRepository.findUpcomingJobs(anyList(), any(ZonedDateTime.class))).thenReturn(List.of(job(firstFire)));
+        dispatcher.refill();
+        when(jobSchedulingService.dispatchJobs(anyCollection(), any(ZonedDateTime.class)))
+            .thenReturn(List.of(job(nextFire)))
+            .thenReturn(List.of());
+
+        // When: the first fire is dispatched and re-armed, then a refill that read the row before
+        // the dispatch committed hands back the first fire time
+        clock.set(firstFire.toInstant());
+        dispatcher.tick();
+        dispatcher.refill();
+        clock.advance(Duration.ofMillis(50));
+        dispatcher.tick();
+        clock.set(nextFire.toInstant());
+        dispatcher.tick();
+
+        // Then: the stale fire time is ignored and the next fire still goes out
+        verify(jobSchedulingService).dispatchJobs(List.of(JOB_ID), firstFire);
+        verify(jobSchedulingService).dispatchJobs(List.of(JOB_ID), nextFire);
+        verifyNoMoreInteractions(jobSchedulingService);
+    }
+
+    @Test
+    void onJobScheduled_WithNewJob_ShouldFireItWithoutWaitingForRefill() {
+        // Given
+        ZonedDateTime firstFire = at(Duration.ofSeconds(2));
+        Job job = job(firstFire);
+        job.setShardId(JobShards.of(JOB_ID));
+
+        // When
+        dispatcher.onJobScheduled(new JobScheduledEvent(job));
+        clock.set(firstFire.toInstant());
+        dispatcher.tick();
+
+        // Then
+        verify(jobSchedulingService).dispatchJobs(List.of(JOB_ID), firstFire);
+        verifyNoInteractions(jobRepository);
+    }
+
+    @Test
+    void onJobScheduled_WithJobOfShardOwnedElsewhere_ShouldLeaveItToItsOwner() {
+        // Given
+        ZonedDateTime firstFire = at(Duration.ofSeconds(2));
+        Job job = job(firstFire);
+        job.setShardId(JobShards.of(JOB_ID));
+        when(membership.ownedShards()).thenReturn(List.of());
+
+        // When
+        dispatcher.onJobScheduled(new JobScheduledEvent(job));
+        clock.set(firstFire.toInstant());
+        dispatcher.tick();
+
+        // Then
+        verifyNoInteractions(jobSchedulingService);
+    }
+
+    @Test
+    void tick_WithLookahead_ShouldClaimTheJobAheadOfItsFireTime() {
+        // Given
+        properties.getScheduler().getClaim().setLookaheadMs(5000);
+        ZonedDateTime firstFire = at(Duration.ofSeconds(20));
+        when(jobRepository.findUpcomingJobs(anyList(), any(ZonedDateTime.class))).thenReturn(List.of(job(firstFire)));
+        dispatcher.refill();
+
+        // When
+        clock.set(at(Duration.ofSeconds(14)).toInstant());
+        dispatcher.tick();
+        clock.set(at(Duration.ofSeconds(15)).toInstant());
+        dispatcher.tick();
+
+        // Then
+        verify(jobSchedulingService).dispatchJobs(List.of(JOB_ID), at(Duration.ofSeconds(15)));
+        verifyNoMoreInteractions(jobSchedulingService);
+    }
+
+    private static ZonedDateTime at(Duration offset) {
+        return ZonedDateTime.ofInstant(START.plus(offset), ZoneId.of("Asia/Kolkata"));
+    }
+
+    private static Job job(ZonedDateTime nextExecutionTime) {
+        return Job.builder()
+            .id(JOB_ID)
+            .schedule("*/10 * * * * *")
+            .isActive(true)
+            .nextExecutionTime(nextExecutionTime)
+            .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.scheduler.simulation;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.repository.JobRepository;
+import com.scheduler.service.FailureRecoveryService;
+import com.scheduler.service.JobSchedulingService;
+import com.scheduler.service.RetryScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Drives the scheduler's periodic work in virtual time. The clock jumps from event to event on a
+ * grid of the given step (the polling interval): a polling tick when a job is due, due retries,
+ * and the retry sweep and stale detection at their configured intervals. Idle time is skipped.
+ * Executions must run synchronously (e.g. on a SyncTaskExecutor) for runs to be deterministic.
+ * Webhook calls are counted per virtual minute through {@link #recordCall()}.
+ */
+public class SchedulerSimulation {
+
+    private static final Duration STALE_DETECTION_INTERVAL = Duration.ofSeconds(30);
+
+    private final SimulatedClock clock;
+    private final JobSchedulingService jobSchedulingService;
+    private final FailureRecoveryService failureRecoveryService;
+    private final JobRepository jobRepository;
+    private final RetryScheduler retryScheduler;
+    private final ApplicationProperties properties;
+
+    private Instant start;
+    private int[] callsPerMinute = new int[0];
+
+    public SchedulerSimulation(SimulatedClock clock, JobSchedulingService jobSchedulingService,
+                               FailureRecoveryService failureRecoveryService, JobRepository jobRepository,
+                               RetryScheduler retryScheduler, ApplicationProperties properties) {
+        this.clock = clock;
+        this.jobSchedulingService = jobSchedulingService;
+        this.failureRecoveryService = failureRecoveryService;
+        this.jobRepository = jobRepository;
+        this.retryScheduler = retryScheduler;
+        this.properties = properties;
+    }
+
+    public Report run(Duration duration, Duration step) {
+        // Calls are counted per wall-clock minute of virtual time
+        start = clock.instant().truncatedTo(ChronoUnit.MINUTES);
+        long endMs = clock.millis() + duration.toMillis();
+        callsPerMinute = new int[(int) ((endMs - start.toEpochMilli()) / 60_000) + 1];
+        long stepMs = step.toMillis();
+        long retrySweepMs = properties.getJob().getRetry().getSweepIntervalMs();
+        long nextRetrySweepMs = clock.millis() + stepMs;
+        long nextStaleDetectionMs = clock.millis() + stepMs;
+        long nextJobDueMs = earliestJobDueMs();
+
+        while (true) {
+            long nextEventMs = Math.min(Math.min(nextJobDueMs, retryScheduler.nextDueAtMs()),
+                Math.min(nextRetrySweepMs, nextStaleDetectionMs));
+            // Work only happens on polling ticks, so round up to the next tick
+            long nowMs = Math.max(clock.millis() + stepMs, ceilToStep(nextEventMs, stepMs));
+            if (nowMs > endMs) {
+                clock.set(Instant.ofEpochMilli(endMs));
+                break;
+            }
+            clock.set(Instant.ofEpochMilli(nowMs));
+
+            if (nowMs >= nextJobDueMs) {
+                jobSchedulingService.scheduleJobs();
+                nextJobDueMs = earliestJobDueMs();
+            }
+            if (nowMs >= nextRetrySweepMs) {
+                failureRecoveryService.retryFailedExecutions();
+                nextRetrySweepMs = nowMs + retrySweepMs;
+            }
+            failureRecoveryService.fireDueRetries();
+            if (nowMs >= nextStaleDetectionMs) {
+                failureRecoveryService.detectStaleExecutions();
+                nextStaleDetectionMs = nowMs + STALE_DETECTION_INTERVAL.toMillis();
+            }
+        }
+        return new Report(ZonedDateTime.ofInstant(start, clock.getZone()), callsPerMinute.clone());
+    }
+
+    private long earliestJobDueMs() {
+        ZonedDateTime earliest = jobRepository.findEarliestNextExecutionTime();
+        return earliest == null ? Long.MAX_VALUE : earliest.toInstant().toEpochMilli();
+    }
+
+    private static long ceilToStep(long epochMs, long stepMs) {
+        return epochMs == Long.MAX_VALUE ? epochMs : Math.floorDiv(epochMs + stepMs - 1, stepMs) * stepMs;
+    }
+
+    /**
+     * Counts one outbound webhook call at the current virtual time.
+     */
+    public void recordCall() {
+        int minute = (int) Duration.between(start, clock.instant()).toMinutes();
+        if (minute >= 0 && minute < callsPerMinute.length) {
+            callsPerMinute[minute]++;
+        }
+    }
+
+    public record Report(ZonedDateTime start, int[] callsPerMinute) {
+
+        public int totalCalls() {
+            return IntStream.of(callsPerMinute).sum();
+        }
+
+        public int peakCallsPerMinute() {
+            return IntStream.of(callsPerMinute).max().orElse(0);
+        }
+
+        public double averageCallsPerMinute() {
+            return IntStream.of(callsPerMinute).average().orElse(0);
+        }
+
+        public double peakToAverage() {
+            double average = averageCallsPerMinute();
+            return average == 0 ? 0 : peakCallsPerMinute() / average;
+        }
+
+        /**
+         * Busiest minutes first, each labelled with its virtual local time.
+         */
+        public List<String> busiestMinutes(int limit) {
+            DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+            List<Integer> minutes = new ArrayList<>(IntStream.range(0, callsPerMinute.length).boxed().toList());
+            minutes.sort(Comparator.comparingInt((Integer minute) -> callsPerMinute[minute]).reversed());
+            return minutes.stream()
+                .limit(limit)
+                .map(minute -> String.format("%s  %d calls", start.plusMinutes(minute).format(format), callsPerMinute[minute]))
+                .toList();
+        }
+
+        /**
+         * Calls per virtual hour.
+         */
+        public int[] callsPerHour() {
+            int[] hours = new int[(callsPerMinute.length + 59) / 60];
+            for (int minute = 0; minute < callsPerMinute.length; minute++) {
+                hours[minute / 60] += callsPerMinute[minute];
+            }
+            return hours;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.scheduler.simulation;
+
+import com.scheduler.config.ApplicationProperties;
+import com.scheduler.dto.JobSpec;
+import com.scheduler.entity.ExecutionStatus;
+import com.scheduler.repository.JobExecutionRepository;
+import com.scheduler.repository.JobRepository;
+import com.scheduler.service.ApiClientService;
+import com.scheduler.service.FailureRecoveryService;
+import com.scheduler.service.JobSchedulingService;
+import com.scheduler.service.JobService;
+import com.scheduler.service.RetryScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the scheduler against embedded H2 in virtual time, with executions run inline and webhook
+ * calls answered instantly. Webhook URLs of the form https://{host}/fail/{percent} fail that
+ * percentage of calls with a 500, deterministically.
+ * The day replay is run with: mvn test -Dtest=SchedulerSimulationTest -Dsimulation=true
+ * [-Dsimulation.mix=jobs.csv] [-Dsimulation.hours=24] [-Dsimulation.step-seconds=1] [-Dsimulation.spread-seconds=300]
+ * where each line of the mix file is: count,schedule,failurePercent
+ * It replays the mix twice, without and then with the spread window, and reports both.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:simulation;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    // Schema from the Flyway migrations; H2 reports their enum columns differently from MySQL, so it is not validated
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.main.allow-bean-definition-overriding=true",
+    "app.scheduler.enabled=false",
+    "app.scheduler.mode=polling",
+    // Executions are released inline at the tick that claims them, so runs stay in virtual time
+    "app.scheduler.claim.lookahead-ms=0",
+    "logging.level.com.scheduler=WARN"
+})
+class SchedulerSimulationTest {
+
+    // A production-like mix: a lot of hourly jobs, as well as minutely, quarter-hourly and daily ones
+    private static final List<String> DEFAULT_MIX = List.of(
+        "400,0 0 * * * *,0",
+        "100,0 * * * * *,0",
+        "200,0 */15 * * * *,5",
+        "150,0 30 2 * * *,0",
+        "50,0 0 9-17 * * MON-FRI,20");
+
+    @TestConfiguration
+    static class SimulationConfig {
+
+        @Bean
+        @Primary
+        SimulatedClock simulatedClock() {
+            return new SimulatedClock(Instant.parse("2024-01-01T00:00:30Z"), ZoneId.of("Asia/Kolkata"));
+        }
+
+        // Runs executions inline so every run in virtual time is deterministic
+        @Bean(name = "jobExecutor")
+        SyncTaskExecutor jobExecutor() {
+            return new SyncTaskExecutor();
+        }
+    }
+
+    @Autowired
+    private SimulatedClock clock;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobSchedulingService jobSchedulingService;
+
+    @Autowired
+    private FailureRecoveryService failureRecoveryService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobExecutionRepository jobExecutionRepository;
+
+    @Autowired
+    private RetryScheduler retryScheduler;
+
+    @Autowired
+    private ApplicationProperties properties;
+
+    @MockBean
+    private ApiClientService apiClientService;
+
+    private SchedulerSimulation simulation;
+    private final Map<String, AtomicInteger> callsPerUrl = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        reset();
+        when(apiClientService.executeApiCallAsync(anyString(), any(), anyString(), any())).thenAnswer(invocation -> {
+            simulation.recordCall();
+            return CompletableFuture.completedFuture(statusFor(invocation.getArgument(0)));
+        });
+    }
+
+    @Test
+    void run_ShouldFireSchedulesAndRetriesInVirtualTime() {
+        // Given
+        jobService.createJob(new JobSpec("0 */10 * * * *", "https://ok.example.com/hook", "ATLEAST_ONCE"));
+        jobService.createJob(new JobSpec("0 0 * * * *", "https://down.example.com/fail/100", "ATLEAST_ONCE"));
+
+        // When
+        SchedulerSimulation.Report report = simulation.run(Duration.ofHours(1), Duration.ofSeconds(1));
+
+        // Then: six 10-minute fires, and one hourly fire followed by all of its retries
+        int maxAttempts = properties.getJob().getRetry().getMaxAttempts();
+        assertThat(callsPerUrl.get("https://ok.example.com/hook")).hasValue(6);
+        assertThat(callsPerUrl.get("https://down.example.com/fail/100")).hasValue(1 + maxAttempts);
+        assertThat(report.totalCalls()).isEqualTo(6 + 1 + maxAttempts);
+        assertThat(jobExecutionRepository.findByStatus(ExecutionStatus.PENDING)).isEmpty();
+        assertThat(jobExecutionRepository.findByStatus(ExecutionStatus.RUNNING)).isEmpty();
+        assertThat(jobRepository.findAll()).allSatisfy(job -> assertThat(job.getLeaseUntil()).isNull());
+    }
+
+    @Test
+    void run_WithSpreadWindow_ShouldFlattenTopOfHourPeak() {
+        // Given
+        for (int i = 0; i < 120; i++) {
+            jobService.createJob(new JobSpec("0 0 * * * *", "https://ok.example.com/hook?job=" + i, "ATLEAST_ONCE", null, 600));
+        }
+
+        // When
+        SchedulerSimulation.Report report = simulation.run(Duration.ofHours(2), Duration.ofSeconds(1));
+
+        // Then: every job still fires once an hour, but over ten minutes instead of one
+        assertThat(report.totalCalls()).isEqualTo(240);
+        assertThat(report.peakCallsPerMinute()).isLessThan(40);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "simulation", matches = "true")
+    void replayDay() throws IOException {
+        // Given
+        String mixFile = System.getProperty("simulation.mix");
+        List<String> mix = mixFile == null ? DEFAULT_MIX : Files.readAllLines(Path.of(mixFile));
+        Duration duration = Duration.ofHours(Integer.getInteger("simulation.hours", 24));
+        Duration step = Duration.ofSeconds(Integer.getInteger("simulation.step-seconds", 1));
+        int spreadSeconds = Integer.getInteger("simulation.spread-seconds", 300);
+
+        // When
+        SchedulerSimulation.Report before = replay(mix, null, duration, step);
+        reset();
+        SchedulerSimulation.Report after = replay(mix, spreadSeconds, duration, step);
+
+        // Then
+        System.out.printf("peak-to-average without spread=%.1f, with %ds spread=%.1f%n",
+            before.peakToAverage(), spreadSeconds, after.peakToAverage());
+        assertThat(after.totalCalls()).isPositive();
+    }
+
+    private SchedulerSimulation.Report replay(List<String> mix, Integer spreadSeconds, Duration duration, Duration step) {
+        int jobs = 0;
+        for (String line : mix) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            int count = Integer.parseInt(fields[0].trim());
+            int failurePercent = fields.length > 2 ? Integer.parseInt(fields[2].trim()) : 0;
+            for (int i = 0; i < count; i++, jobs++) {
+                String url = "https://host-" + (jobs % 50) + ".example.com/fail/" + failurePercent + "?job=" + jobs;
+                jobService.createJob(new JobSpec(fields[1].trim(), url, "ATLEAST_ONCE", null, spreadSeconds));
+            }
+        }
+
+        long start = System.nanoTime();
+        SchedulerSimulation.Report report = simulation.run(duration, step);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("jobs=%d spread=%ss replayed=%dh in %.1fs calls=%d avg=%.1f/min peak=%d/min peak-to-average=%.1f%n",
+            jobs, spreadSeconds == null ? "-" : spreadSeconds, duration.toHours(), elapsedMs / 1000.0, report.totalCalls(),
+            report.averageCallsPerMinute(), report.peakCallsPerMinute(), report.peakToAverage());
+        System.out.println("calls per hour: " + Arrays.toString(report.callsPerHour()));
+        System.out.println("busiest minutes:");
+        report.busiestMinutes(10).forEach(minute -> System.out.println("  " + minute));
+        return report;
+    }
+
+    private void reset() {
+        jobExecutionRepository.deleteAllInBatch();
+        jobRepository.deleteAllInBatch();
+        clock.set(Instant.parse("2024-01-01T00:00:30Z"));
+        callsPerUrl.clear();
+        simulation = new SchedulerSimulation(clock, jobSchedulingService, failureRecoveryService, jobRepository,
+            retryScheduler, properties);
+    }
+
+    private int statusFor(String url) {
+        int call = callsPerUrl.computeIfAbsent(url, key -> new AtomicInteger()).incrementAndGet();
+        int failAt = url.indexOf("/fail/");
+        if (failAt < 0) {
+            return 200;
+        }
+        String percent = url.substring(failAt + "/fail/".length()).split("\\?")[0];
+        int failurePercent = Integer.parseInt(percent);
+        // Exactly failurePercent of every 100 calls fail, at a different phase per URL so that
+        // jobs sharing a schedule do not all fail on the same fire
+        int phased = call + Math.floorMod(url.hashCode(), 100);
+        return (phased * failurePercent) / 100 != ((phased - 1) * failurePercent) / 100 ? 500 : 200;
+    }
+}
@@ -0,0 +1,43 @@
+package com.scheduler.simulation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Clock whose time only moves when it is advanced, for replaying schedules in virtual time.
+ */
+public class SimulatedClock extends Clock {
+
+    private final ZoneId zone;
+    private volatile Instant instant;
+
+    public SimulatedClock(Instant start, ZoneId zone) {
+        this.instant = start;
+        this.zone = zone;
+    }
+
+    public void advance(Duration duration) {
+        instant = instant.plus(duration);
+    }
+
+    public void set(Instant instant) {
+        this.instant = instant;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new SimulatedClock(instant, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+}